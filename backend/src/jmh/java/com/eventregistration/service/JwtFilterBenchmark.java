@@ -0,0 +1,119 @@
+package com.eventregistration.service;
+
+import com.eventregistration.model.User;
+import com.eventregistration.repository.UserRepository;
+import com.eventregistration.security.AccountVersionCache;
+import com.eventregistration.security.AuthenticatedUser;
+import com.eventregistration.security.JwtAuthenticationFilter;
+import com.eventregistration.security.TokenRevocationList;
+import com.eventregistration.stats.StageTimer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of authenticating one request from its bearer token: the full filter
+ * with a warm verified-token cache, against a signature check on every call.
+ *
+ * Run with {@code mvn -P jmh test-compile exec:exec}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtFilterBenchmark {
+    
+    private static final String SECRET = "benchmark-secret-key-that-is-long-enough-for-hs256";
+    
+    private JwtService cachingJwtService;
+    
+    private JwtService uncachedJwtService;
+    
+    private JwtAuthenticationFilter filter;
+    
+    private MockHttpServletRequest request;
+    
+    private MockHttpServletResponse response;
+    
+    private String accessToken;
+    
+    @Setup
+    public void setUp() {
+        TokenRevocationList revocationList = new TokenRevocationList();
+        cachingJwtService = jwtService(revocationList, 100_000);
+        uncachedJwtService = jwtService(revocationList, 0);
+        
+        User user = new User("bench", "bench@example.com", "unused", "Bench", "User", User.Role.USER);
+        user.setId(1L);
+        accessToken = cachingJwtService.issueTokens(user).getAccessToken();
+        
+        UserRepository userRepository = Mockito.mock(UserRepository.class);
+        Mockito.when(userRepository.findActiveAccountVersion(1L)).thenReturn(Optional.of(0L));
+        AccountVersionCache accountVersionCache = new AccountVersionCache();
+        ReflectionTestUtils.setField(accountVersionCache, "userRepository", userRepository);
+        
+        StageTimer stageTimer = new StageTimer();
+        ReflectionTestUtils.setField(stageTimer, "meterRegistry", new SimpleMeterRegistry());
+        
+        filter = new JwtAuthenticationFilter();
+        ReflectionTestUtils.setField(filter, "jwtService", cachingJwtService);
+        ReflectionTestUtils.setField(filter, "accountVersionCache", accountVersionCache);
+        ReflectionTestUtils.setField(filter, "stageTimer", stageTimer);
+        
+        request = new MockHttpServletRequest("GET", "/api/tickets/my-tickets");
+        request.addHeader("Authorization", "Bearer " + accessToken);
+        response = new MockHttpServletResponse();
+    }
+    
+    @Benchmark
+    public Object filterWithVerifiedCache() throws Exception {
+        try {
+            filter.doFilter(request, response, new MockFilterChain());
+            return SecurityContextHolder.getContext().getAuthentication();
+        } finally {
+            // Lets the same request pass the once-per-request guard again
+            request.clearAttributes();
+            SecurityContextHolder.clearContext();
+        }
+    }
+    
+    @Benchmark
+    public AuthenticatedUser authenticateWithVerifiedCache() {
+        return cachingJwtService.authenticate(accessToken);
+    }
+    
+    @Benchmark
+    public AuthenticatedUser authenticateWithSignatureCheck() {
+        return uncachedJwtService.authenticate(accessToken);
+    }
+    
+    private static JwtService jwtService(TokenRevocationList revocationList, int verifiedCacheMaxEntries) {
+        JwtService jwtService = new JwtService();
+        ReflectionTestUtils.setField(jwtService, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(jwtService, "jwtExpirationMs", 900_000);
+        ReflectionTestUtils.setField(jwtService, "refreshExpirationMs", 604_800_000L);
+        ReflectionTestUtils.setField(jwtService, "revocationList", revocationList);
+        ReflectionTestUtils.setField(jwtService, "verifiedCacheMaxEntries", verifiedCacheMaxEntries);
+        jwtService.init();
+        return jwtService;
+    }
+} 
\ No newline at end of file
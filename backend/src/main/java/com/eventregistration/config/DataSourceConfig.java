@@ -0,0 +1,26 @@
+package com.eventregistration.config;
+
+import com.eventregistration.stats.QueryTrackingDataSource;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+@Configuration
+public class DataSourceConfig {
+    
+    // Static so the post-processor is registered before the datasource is created
+    @Bean
+    public static BeanPostProcessor queryTrackingDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof QueryTrackingDataSource)) {
+                    return new QueryTrackingDataSource(dataSource);
+                }
+                return bean;
+            }
+        };
+    }
+} 
\ No newline at end of file
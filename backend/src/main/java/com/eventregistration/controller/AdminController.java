@@ -1,13 +1,26 @@
 package com.eventregistration.controller;
 
+import com.eventregistration.dto.CursorPage;
+import com.eventregistration.dto.EventBreakdown;
+import com.eventregistration.health.DependencyHealthMonitor;
+import com.eventregistration.model.Event;
 import com.eventregistration.model.User;
 import com.eventregistration.service.EventService;
-import com.eventregistration.service.TicketService;
+import com.eventregistration.service.ExportFormat;
+import com.eventregistration.service.ExportPermits;
+import com.eventregistration.service.UserDirectoryExporter;
 import com.eventregistration.service.UserService;
+import com.eventregistration.stats.DashboardStats;
+import com.eventregistration.stats.TicketSalesTimeSeries;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDateTime;
 import java.util.HashMap;
@@ -27,67 +40,68 @@ public class AdminController {
     private EventService eventService;
     
     @Autowired
-    private TicketService ticketService;
+    private DashboardStats dashboardStats;
+    
+    @Autowired
+    private TicketSalesTimeSeries salesTimeSeries;
+    
+    @Autowired
+    private UserDirectoryExporter userDirectoryExporter;
+    
+    @Autowired
+    private ExportPermits exportPermits;
+    
+    @Autowired
+    private DependencyHealthMonitor dependencyHealthMonitor;
     
     @GetMapping("/dashboard")
     public ResponseEntity<Map<String, Object>> getDashboardStats() {
-        Map<String, Object> stats = new HashMap<>();
-        
-        // User statistics
-        long totalUsers = userService.findAllUsers().size();
-        long totalAdmins = userService.findAllAdmins().size();
-        long newUsersThisMonth = userService.countUsersRegisteredAfter(
-            LocalDateTime.now().minusMonths(1)
-        );
-        
-        // Event statistics
-        long totalEvents = eventService.findAvailableEvents().size();
-        long soldOutEvents = eventService.findSoldOutEvents().size();
-        long upcomingEvents = eventService.findUpcomingEvents().size();
-        
-        // Ticket statistics
-        long totalTickets = ticketService.countTicketsPurchasedAfter(
-            LocalDateTime.now().minusYears(10)
-        );
-        long ticketsThisMonth = ticketService.countTicketsPurchasedAfter(
-            LocalDateTime.now().minusMonths(1)
-        );
-        long validatedTicketsToday = ticketService.findTicketsValidatedAfter(
-            LocalDateTime.now().minusDays(1)
-        ).size();
-        
-        stats.put("users", Map.of(
-            "total", totalUsers,
-            "admins", totalAdmins,
-            "newThisMonth", newUsersThisMonth
-        ));
-        
-        stats.put("events", Map.of(
-            "total", totalEvents,
-            "soldOut", soldOutEvents,
-            "upcoming", upcomingEvents
-        ));
-        
-        stats.put("tickets", Map.of(
-            "total", totalTickets,
-            "thisMonth", ticketsThisMonth,
-            "validatedToday", validatedTicketsToday
-        ));
-        
-        return ResponseEntity.ok(stats);
+        return ResponseEntity.ok(dashboardStats.snapshot());
     }
     
     @GetMapping("/users")
-    public ResponseEntity<List<User>> getAllUsers() {
-        List<User> users = userService.findAllUsers();
-        return ResponseEntity.ok(users);
+    public ResponseEntity<?> getAllUsers(@RequestParam(required = false) String cursor,
+                                         @RequestParam(defaultValue = "50") int limit,
+                                         @RequestParam(required = false) String q,
+                                         @RequestParam(required = false) String role,
+                                         @RequestParam(required = false) Boolean enabled) {
+        try {
+            return ResponseEntity.ok(userService.findUsers(cursor, CursorPage.boundedLimit(limit), q,
+                    parseRole(role), enabled));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
     }
     
     @GetMapping("/users/role/{role}")
-    public ResponseEntity<List<User>> getUsersByRole(@PathVariable String role) {
-        User.Role userRole = User.Role.valueOf(role.toUpperCase());
-        List<User> users = userService.findUsersByRole(userRole);
-        return ResponseEntity.ok(users);
+    public ResponseEntity<?> getUsersByRole(@PathVariable String role,
+                                            @RequestParam(required = false) String cursor,
+                                            @RequestParam(defaultValue = "50") int limit) {
+        return getAllUsers(cursor, limit, null, role, null);
+    }
+    
+    @GetMapping("/users/export")
+    public ResponseEntity<StreamingResponseBody> exportUsers(@RequestParam(defaultValue = "csv") String format,
+                                                             @RequestParam(required = false) String q,
+                                                             @RequestParam(required = false) String role,
+                                                             @RequestParam(required = false) Boolean enabled) {
+        ExportFormat exportFormat;
+        User.Role userRole;
+        try {
+            exportFormat = ExportFormat.valueOf(format.toUpperCase());
+            userRole = parseRole(role);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        
+        StreamingResponseBody body = out -> userDirectoryExporter.export(q, userRole, enabled, exportFormat, out);
+        return exportPermits.acquire(body)
+                .map(permitted -> ResponseEntity.ok()
+                        .contentType(exportFormat.getMediaType())
+                        .header(HttpHeaders.CONTENT_DISPOSITION,
+                                ContentDisposition.attachment().filename("users." + exportFormat.getExtension()).build().toString())
+                        .body(permitted))
+                .orElseGet(() -> ResponseEntity.status(503).build());
     }
     
     @PutMapping("/users/{userId}/toggle-status")
@@ -128,94 +142,108 @@ public class AdminController {
     public ResponseEntity<Map<String, Object>> getEventAnalytics() {
         Map<String, Object> analytics = new HashMap<>();
         
-        // Event statistics by status
-        long publishedEvents = eventService.findEventsByStatus(
-            com.eventregistration.model.Event.EventStatus.PUBLISHED, 
-            org.springframework.data.domain.PageRequest.of(0, Integer.MAX_VALUE)
-        ).getTotalElements();
-        
-        long draftEvents = eventService.findEventsByStatus(
-            com.eventregistration.model.Event.EventStatus.DRAFT, 
-            org.springframework.data.domain.PageRequest.of(0, Integer.MAX_VALUE)
-        ).getTotalElements();
-        
-        long cancelledEvents = eventService.findEventsByStatus(
-            com.eventregistration.model.Event.EventStatus.CANCELLED, 
-            org.springframework.data.domain.PageRequest.of(0, Integer.MAX_VALUE)
-        ).getTotalElements();
-        
-        analytics.put("byStatus", Map.of(
-            "published", publishedEvents,
-            "draft", draftEvents,
-            "cancelled", cancelledEvents
-        ));
+        // Event statistics by status, one grouped query
+        Map<String, Long> byStatus = new HashMap<>();
+        for (Event.EventStatus status : Event.EventStatus.values()) {
+            byStatus.put(status.name().toLowerCase(), 0L);
+        }
+        for (EventBreakdown bucket : eventService.getEventBreakdown("status")) {
+            byStatus.put(bucket.key().toLowerCase(), bucket.events());
+        }
+        analytics.put("byStatus", byStatus);
         
         // Recent activity
-        List<com.eventregistration.model.Event> upcomingEvents = eventService.findUpcomingEvents();
-        List<com.eventregistration.model.Event> soldOutEvents = eventService.findSoldOutEvents();
-        
         analytics.put("recentActivity", Map.of(
-            "upcomingEvents", upcomingEvents.size(),
-            "soldOutEvents", soldOutEvents.size()
+            "upcomingEvents", dashboardStats.getUpcomingEvents(),
+            "soldOutEvents", dashboardStats.getSoldOutEvents()
         ));
         
         return ResponseEntity.ok(analytics);
     }
     
+    @GetMapping("/analytics/events/breakdown")
+    public ResponseEntity<?> getEventBreakdown(@RequestParam(defaultValue = "status") String by) {
+        try {
+            return ResponseEntity.ok(eventService.getEventBreakdown(by));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+    
     @GetMapping("/analytics/tickets")
-    public ResponseEntity<Map<String, Object>> getTicketAnalytics() {
+    public ResponseEntity<Map<String, Object>> getTicketAnalytics(@RequestParam(required = false) Long eventId) {
         Map<String, Object> analytics = new HashMap<>();
+        LocalDateTime now = LocalDateTime.now();
         
-        // Ticket statistics
-        long totalTickets = ticketService.countTicketsPurchasedAfter(
-            LocalDateTime.now().minusYears(10)
-        );
-        
-        long ticketsThisWeek = ticketService.countTicketsPurchasedAfter(
-            LocalDateTime.now().minusWeeks(1)
-        );
-        
-        long ticketsThisMonth = ticketService.countTicketsPurchasedAfter(
-            LocalDateTime.now().minusMonths(1)
-        );
-        
-        List<com.eventregistration.model.Ticket> validatedToday = ticketService.findTicketsValidatedAfter(
-            LocalDateTime.now().minusDays(1)
-        );
+        Map<String, Object> purchases = new HashMap<>();
+        purchases.put("thisWeek", salesTimeSeries.count(eventId, TicketSalesTimeSeries.Metric.PURCHASED, now.minusWeeks(1)));
+        purchases.put("thisMonth", salesTimeSeries.count(eventId, TicketSalesTimeSeries.Metric.PURCHASED, now.minusMonths(1)));
+        if (eventId == null) {
+            purchases.put("total", dashboardStats.getTotalTickets());
+        }
+        analytics.put("purchases", purchases);
         
-        analytics.put("purchases", Map.of(
-            "total", totalTickets,
-            "thisWeek", ticketsThisWeek,
-            "thisMonth", ticketsThisMonth
+        analytics.put("validations", Map.of(
+            "today", salesTimeSeries.count(eventId, TicketSalesTimeSeries.Metric.VALIDATED, now.minusDays(1))
         ));
         
-        analytics.put("validations", Map.of(
-            "today", validatedToday.size()
+        analytics.put("cancellations", Map.of(
+            "thisWeek", salesTimeSeries.count(eventId, TicketSalesTimeSeries.Metric.CANCELLED, now.minusWeeks(1))
         ));
         
         return ResponseEntity.ok(analytics);
     }
     
+    @GetMapping("/analytics/tickets/series")
+    public ResponseEntity<?> getTicketSeries(@RequestParam(defaultValue = "PURCHASED") String metric,
+                                             @RequestParam(defaultValue = "HOUR") String resolution,
+                                             @RequestParam(defaultValue = "24") int points,
+                                             @RequestParam(required = false) Long eventId) {
+        try {
+            TicketSalesTimeSeries.Metric seriesMetric = TicketSalesTimeSeries.Metric.valueOf(metric.toUpperCase());
+            TicketSalesTimeSeries.Resolution seriesResolution =
+                    TicketSalesTimeSeries.Resolution.valueOf(resolution.toUpperCase());
+            if (points < 1) {
+                throw new IllegalArgumentException("points must be positive");
+            }
+            
+            Map<String, Object> response = new HashMap<>();
+            response.put("metric", seriesMetric);
+            response.put("resolution", seriesResolution);
+            response.put("values", salesTimeSeries.sparkline(eventId, seriesMetric, seriesResolution, points));
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+    
     @GetMapping("/system/health")
     public ResponseEntity<Map<String, Object>> getSystemHealth() {
         Map<String, Object> health = new HashMap<>();
         
-        try {
-            // Basic health checks
-            userService.findAllUsers(); // Test database connection
-            eventService.findAvailableEvents();
-            ticketService.countTicketsPurchasedAfter(LocalDateTime.now().minusYears(10));
-            
-            health.put("status", "healthy");
-            health.put("database", "connected");
-            health.put("timestamp", LocalDateTime.now());
-            
-        } catch (Exception e) {
-            health.put("status", "unhealthy");
-            health.put("error", e.getMessage());
-            health.put("timestamp", LocalDateTime.now());
+        // Cached results from the background checks; no query runs here
+        Map<String, Object> dependencies = new HashMap<>();
+        boolean healthy = true;
+        for (String name : List.of(DependencyHealthMonitor.DATASOURCE, DependencyHealthMonitor.TASK_EXECUTOR,
+                DependencyHealthMonitor.SES, DependencyHealthMonitor.SNS)) {
+            Health dependency = dependencyHealthMonitor.get(name);
+            dependencies.put(name, dependency);
+            if (Status.DOWN.equals(dependency.getStatus()) &&
+                (name.equals(DependencyHealthMonitor.DATASOURCE) || name.equals(DependencyHealthMonitor.TASK_EXECUTOR))) {
+                healthy = false;
+            }
         }
         
+        health.put("status", healthy ? "healthy" : "unhealthy");
+        health.put("database", Status.UP.equals(dependencyHealthMonitor.get(DependencyHealthMonitor.DATASOURCE).getStatus())
+                ? "connected" : "unavailable");
+        health.put("dependencies", dependencies);
+        health.put("timestamp", LocalDateTime.now());
+        
         return ResponseEntity.ok(health);
     }
+    
+    private static User.Role parseRole(String role) {
+        return role != null && !role.isBlank() ? User.Role.valueOf(role.toUpperCase()) : null;
+    }
 } 
\ No newline at end of file
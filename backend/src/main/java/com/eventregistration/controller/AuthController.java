@@ -1,11 +1,19 @@
 package com.eventregistration.controller;
 
+import com.eventregistration.dto.AuthTokens;
 import com.eventregistration.dto.UserRegistrationRequest;
 import com.eventregistration.model.User;
+import com.eventregistration.security.AuthenticatedUser;
+import com.eventregistration.security.CurrentUser;
+import com.eventregistration.security.LoginRateLimiter;
+import com.eventregistration.security.LoginThrottledException;
 import com.eventregistration.service.JwtService;
 import com.eventregistration.service.UserService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -30,6 +38,9 @@ public class AuthController {
     @Autowired
     private JwtService jwtService;
     
+    @Autowired
+    private LoginRateLimiter loginRateLimiter;
+    
     @PostMapping("/register")
     public ResponseEntity<?> registerUser(@Valid @RequestBody UserRegistrationRequest request) {
         try {
@@ -41,6 +52,8 @@ public class AuthController {
             response.put("username", user.getUsername());
             
             return ResponseEntity.ok(response);
+        } catch (LoginThrottledException e) {
+            return tooManyRequests(e);
         } catch (Exception e) {
             Map<String, String> error = new HashMap<>();
             error.put("error", e.getMessage());
@@ -49,22 +62,27 @@ public class AuthController {
     }
     
     @PostMapping("/login")
-    public ResponseEntity<?> authenticateUser(@RequestBody Map<String, String> loginRequest) {
+    public ResponseEntity<?> authenticateUser(@RequestBody Map<String, String> loginRequest,
+                                              HttpServletRequest httpRequest) {
         try {
             String username = loginRequest.get("username");
             String password = loginRequest.get("password");
             
+            // Reject floods before they reach the password hashing pool
+            loginRateLimiter.checkLoginAttempt(httpRequest.getRemoteAddr(), username);
+            
             Authentication authentication = authenticationManager.authenticate(
                 new UsernamePasswordAuthenticationToken(username, password)
             );
             
             SecurityContextHolder.getContext().setAuthentication(authentication);
-            String jwt = jwtService.generateToken((User) authentication.getPrincipal());
-            
             User user = (User) authentication.getPrincipal();
+            AuthTokens tokens = jwtService.issueTokens(user);
             
             Map<String, Object> response = new HashMap<>();
-            response.put("token", jwt);
+            response.put("token", tokens.getAccessToken());
+            response.put("refreshToken", tokens.getRefreshToken());
+            response.put("expiresIn", tokens.getExpiresInMs());
             response.put("type", "Bearer");
             response.put("userId", user.getId());
             response.put("username", user.getUsername());
@@ -74,6 +92,8 @@ public class AuthController {
             response.put("role", user.getRole());
             
             return ResponseEntity.ok(response);
+        } catch (LoginThrottledException e) {
+            return tooManyRequests(e);
         } catch (Exception e) {
             Map<String, String> error = new HashMap<>();
             error.put("error", "Invalid username or password");
@@ -81,64 +101,96 @@ public class AuthController {
         }
     }
     
-    @GetMapping("/validate")
-    public ResponseEntity<?> validateToken(@RequestHeader("Authorization") String token) {
+    @PostMapping("/refresh")
+    public ResponseEntity<?> refreshToken(@RequestBody Map<String, String> refreshRequest) {
         try {
-            if (token != null && token.startsWith("Bearer ")) {
-                String jwt = token.substring(7);
-                if (jwtService.validateJwtToken(jwt)) {
-                    String username = jwtService.getUserNameFromJwtToken(jwt);
-                    User user = userService.findByUsername(username).orElse(null);
-                    
-                    if (user != null) {
-                        Map<String, Object> response = new HashMap<>();
-                        response.put("valid", true);
-                        response.put("userId", user.getId());
-                        response.put("username", user.getUsername());
-                        response.put("role", user.getRole());
-                        return ResponseEntity.ok(response);
-                    }
-                }
+            String refreshToken = refreshRequest.get("refreshToken");
+            if (refreshToken == null) {
+                throw new RuntimeException("Refresh token is required");
             }
             
+            Long userId = jwtService.getUserIdFromRefreshToken(refreshToken);
+            User user = userService.findById(userId)
+                    .orElseThrow(() -> new RuntimeException("User not found"));
+            AuthTokens tokens = jwtService.rotateTokens(user, refreshToken);
+            
             Map<String, Object> response = new HashMap<>();
-            response.put("valid", false);
+            response.put("token", tokens.getAccessToken());
+            response.put("refreshToken", tokens.getRefreshToken());
+            response.put("expiresIn", tokens.getExpiresInMs());
+            response.put("type", "Bearer");
             return ResponseEntity.ok(response);
-            
         } catch (Exception e) {
-            Map<String, Object> response = new HashMap<>();
+            Map<String, String> error = new HashMap<>();
+            error.put("error", "Invalid or expired refresh token");
+            return ResponseEntity.status(401).body(error);
+        }
+    }
+    
+    @PostMapping("/logout")
+    public ResponseEntity<?> logout(@RequestHeader(value = "Authorization", required = false) String token,
+                                    @RequestBody(required = false) Map<String, String> logoutRequest) {
+        if (token != null && token.startsWith("Bearer ")) {
+            try {
+                jwtService.revokeTokens(token.substring(7));
+            } catch (Exception e) {
+                // Expired or invalid tokens need no revocation
+            }
+        }
+        
+        // The refresh token still ends the session once the access token has expired
+        String refreshToken = logoutRequest != null ? logoutRequest.get("refreshToken") : null;
+        if (refreshToken != null) {
+            try {
+                jwtService.revokeRefreshSession(refreshToken);
+            } catch (Exception e) {
+                // Expired or invalid refresh tokens have no session left to revoke
+            }
+        }
+        
+        Map<String, String> response = new HashMap<>();
+        response.put("message", "Logged out successfully");
+        return ResponseEntity.ok(response);
+    }
+    
+    @GetMapping("/validate")
+    public ResponseEntity<?> validateToken(@CurrentUser(required = false) AuthenticatedUser currentUser) {
+        Map<String, Object> response = new HashMap<>();
+        if (currentUser == null) {
             response.put("valid", false);
-            response.put("error", e.getMessage());
             return ResponseEntity.ok(response);
         }
+        
+        response.put("valid", true);
+        response.put("userId", currentUser.getId());
+        response.put("username", currentUser.getUsername());
+        response.put("role", currentUser.getRole());
+        return ResponseEntity.ok(response);
     }
     
     @GetMapping("/profile")
-    public ResponseEntity<?> getProfile(@RequestHeader("Authorization") String token) {
+    public ResponseEntity<?> getProfile(@CurrentUser(required = false) AuthenticatedUser currentUser) {
         try {
-            if (token != null && token.startsWith("Bearer ")) {
-                String jwt = token.substring(7);
-                if (jwtService.validateJwtToken(jwt)) {
-                    String username = jwtService.getUserNameFromJwtToken(jwt);
-                    User user = userService.findByUsername(username).orElse(null);
-                    
-                    if (user != null) {
-                        Map<String, Object> profile = new HashMap<>();
-                        profile.put("id", user.getId());
-                        profile.put("username", user.getUsername());
-                        profile.put("email", user.getEmail());
-                        profile.put("firstName", user.getFirstName());
-                        profile.put("lastName", user.getLastName());
-                        profile.put("role", user.getRole());
-                        profile.put("enabled", user.isEnabled());
-                        profile.put("createdAt", user.getCreatedAt());
-                        
-                        return ResponseEntity.ok(profile);
-                    }
-                }
+            if (currentUser == null) {
+                return ResponseEntity.status(401).build();
+            }
+            
+            User user = userService.findById(currentUser.getId()).orElse(null);
+            if (user == null) {
+                return ResponseEntity.status(401).build();
             }
             
-            return ResponseEntity.status(401).build();
+            Map<String, Object> profile = new HashMap<>();
+            profile.put("id", user.getId());
+            profile.put("username", user.getUsername());
+            profile.put("email", user.getEmail());
+            profile.put("firstName", user.getFirstName());
+            profile.put("lastName", user.getLastName());
+            profile.put("role", user.getRole());
+            profile.put("enabled", user.isEnabled());
+            profile.put("createdAt", user.getCreatedAt());
+            
+            return ResponseEntity.ok(profile);
             
         } catch (Exception e) {
             Map<String, String> error = new HashMap<>();
@@ -146,4 +198,12 @@ public class AuthController {
             return ResponseEntity.badRequest().body(error);
         }
     }
+    
+    private ResponseEntity<?> tooManyRequests(LoginThrottledException e) {
+        Map<String, String> error = new HashMap<>();
+        error.put("error", e.getMessage());
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(error);
+    }
 } 
\ No newline at end of file
@@ -1,20 +1,37 @@
 package com.eventregistration.controller;
 
+import com.eventregistration.dto.CursorPage;
+import com.eventregistration.dto.EventAvailability;
 import com.eventregistration.dto.EventRequest;
+import com.eventregistration.dto.EventSalesStats;
+import com.eventregistration.dto.EventSummary;
 import com.eventregistration.model.Event;
-import com.eventregistration.model.User;
+import com.eventregistration.search.EventGeoIndex;
+import com.eventregistration.search.EventSuggestionIndex;
+import com.eventregistration.search.Suggestion;
+import com.eventregistration.security.AuthenticatedUser;
+import com.eventregistration.security.CurrentUser;
+import com.eventregistration.service.AvailabilityBroadcaster;
+import com.eventregistration.service.EventResponseCache;
 import com.eventregistration.service.EventService;
-import com.eventregistration.service.JwtService;
+import com.eventregistration.service.OrganizerDashboardBroadcaster;
 import com.eventregistration.service.UserService;
+import com.eventregistration.stats.OrganizerDashboard;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -32,48 +49,120 @@ public class EventController {
     private UserService userService;
     
     @Autowired
-    private JwtService jwtService;
+    private EventSuggestionIndex suggestionIndex;
+    
+    @Autowired
+    private EventResponseCache responseCache;
+    
+    @Autowired
+    private EventGeoIndex geoIndex;
+    
+    @Autowired
+    private AvailabilityBroadcaster availabilityBroadcaster;
+    
+    @Autowired
+    private OrganizerDashboard organizerDashboard;
+    
+    @Autowired
+    private OrganizerDashboardBroadcaster dashboardBroadcaster;
     
     // Public endpoints
     @GetMapping("/public/available")
-    public ResponseEntity<List<Event>> getAvailableEvents() {
-        List<Event> events = eventService.findAvailableEvents();
-        return ResponseEntity.ok(events);
+    public ResponseEntity<?> getAvailableEvents(@RequestParam(required = false) String cursor,
+                                                @RequestParam(defaultValue = "20") int limit) {
+        try {
+            return ResponseEntity.ok(eventService.findAvailableEvents(cursor, CursorPage.boundedLimit(limit)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
     }
     
     @GetMapping("/public/upcoming")
-    public ResponseEntity<List<Event>> getUpcomingEvents() {
-        List<Event> events = eventService.findUpcomingEvents();
-        return ResponseEntity.ok(events);
+    public ResponseEntity<?> getUpcomingEvents(@RequestParam(required = false) String cursor,
+                                               @RequestParam(defaultValue = "20") int limit) {
+        try {
+            return ResponseEntity.ok(eventService.findUpcomingEvents(cursor, CursorPage.boundedLimit(limit)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+    
+    @GetMapping("/public/calendar")
+    public ResponseEntity<List<EventSummary>> getEventsInRange(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "100") int limit) {
+        return ResponseEntity.ok(eventService.findEventsByDateRange(from, to, CursorPage.boundedLimit(limit)));
+    }
+    
+    @GetMapping("/public/happening-now")
+    public ResponseEntity<List<EventSummary>> getEventsHappeningNow(@RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(eventService.findEventsHappeningNow(CursorPage.boundedLimit(limit)));
+    }
+    
+    @GetMapping("/public/nearby")
+    public ResponseEntity<?> getNearbyEvents(@RequestParam double lat,
+                                             @RequestParam double lon,
+                                             @RequestParam(defaultValue = "25") double radius,
+                                             @RequestParam(defaultValue = "20") int limit) {
+        if (lat < -90 || lat > 90 || lon < -180 || lon > 180 || radius <= 0) {
+            return ResponseEntity.badRequest().body(Map.of("error", "Invalid coordinates or radius"));
+        }
+        return ResponseEntity.ok(geoIndex.findNearby(lat, lon, radius, CursorPage.boundedLimit(limit)));
     }
     
     @GetMapping("/public/search")
-    public ResponseEntity<List<Event>> searchEvents(@RequestParam String keyword) {
-        List<Event> events = eventService.searchEvents(keyword);
-        return ResponseEntity.ok(events);
+    public ResponseEntity<?> searchEvents(@RequestParam String keyword,
+                                          @RequestParam(required = false) String cursor,
+                                          @RequestParam(defaultValue = "20") int limit) {
+        try {
+            return ResponseEntity.ok(eventService.searchEvents(keyword, cursor, CursorPage.boundedLimit(limit)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+    
+    @GetMapping("/public/suggest")
+    public ResponseEntity<List<Suggestion>> suggest(@RequestParam("q") String query,
+                                                    @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(suggestionIndex.suggest(query, Math.min(limit, 25)));
     }
     
     @GetMapping("/public/category/{category}")
-    public ResponseEntity<List<Event>> getEventsByCategory(@PathVariable String category) {
-        List<Event> events = eventService.findEventsByCategory(category);
-        return ResponseEntity.ok(events);
+    public ResponseEntity<?> getEventsByCategory(@PathVariable String category,
+                                                 @RequestParam(required = false) String cursor,
+                                                 @RequestParam(defaultValue = "20") int limit) {
+        try {
+            return ResponseEntity.ok(eventService.findEventsByCategory(category, cursor, CursorPage.boundedLimit(limit)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
     }
     
     @GetMapping("/public/{id}")
-    public ResponseEntity<Event> getEventById(@PathVariable Long id) {
-        Optional<Event> event = eventService.findById(id);
-        return event.map(ResponseEntity::ok)
-                .orElse(ResponseEntity.notFound().build());
+    public ResponseEntity<byte[]> getEventById(@PathVariable Long id, WebRequest request) {
+        Optional<EventResponseCache.CachedEvent> event = responseCache.get(id);
+        if (event.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        // Answers If-None-Match with 304 straight from the cached ETag
+        if (request.checkNotModified(event.get().getEtag())) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .eTag(event.get().getEtag())
+                .cacheControl(CacheControl.noCache())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(event.get().getBody());
     }
     
     // Protected endpoints
     @PostMapping
     @PreAuthorize("hasRole('ADMIN') or hasRole('USER')")
     public ResponseEntity<?> createEvent(@Valid @RequestBody EventRequest request,
-                                       @RequestHeader("Authorization") String token) {
+                                       @CurrentUser AuthenticatedUser currentUser) {
         try {
-            User organizer = getCurrentUser(token);
-            Event event = eventService.createEvent(request, organizer);
+            Event event = eventService.createEvent(request, userService.getReference(currentUser.getId()));
             return ResponseEntity.ok(event);
         } catch (Exception e) {
             Map<String, String> error = new HashMap<>();
@@ -86,15 +175,14 @@ public class EventController {
     @PreAuthorize("hasRole('ADMIN') or hasRole('USER')")
     public ResponseEntity<?> updateEvent(@PathVariable Long id,
                                        @Valid @RequestBody EventRequest request,
-                                       @RequestHeader("Authorization") String token) {
+                                       @CurrentUser AuthenticatedUser currentUser) {
         try {
-            User currentUser = getCurrentUser(token);
             Event existingEvent = eventService.findById(id)
                     .orElseThrow(() -> new RuntimeException("Event not found"));
             
             // Check if user is the organizer or admin
             if (!existingEvent.getOrganizer().getId().equals(currentUser.getId()) && 
-                currentUser.getRole() != User.Role.ADMIN) {
+                !currentUser.isAdmin()) {
                 return ResponseEntity.status(403).body(Map.of("error", "Not authorized to update this event"));
             }
             
@@ -110,15 +198,14 @@ public class EventController {
     @PostMapping("/{id}/publish")
     @PreAuthorize("hasRole('ADMIN') or hasRole('USER')")
     public ResponseEntity<?> publishEvent(@PathVariable Long id,
-                                        @RequestHeader("Authorization") String token) {
+                                        @CurrentUser AuthenticatedUser currentUser) {
         try {
-            User currentUser = getCurrentUser(token);
             Event existingEvent = eventService.findById(id)
                     .orElseThrow(() -> new RuntimeException("Event not found"));
             
             // Check if user is the organizer or admin
             if (!existingEvent.getOrganizer().getId().equals(currentUser.getId()) && 
-                currentUser.getRole() != User.Role.ADMIN) {
+                !currentUser.isAdmin()) {
                 return ResponseEntity.status(403).body(Map.of("error", "Not authorized to publish this event"));
             }
             
@@ -134,15 +221,14 @@ public class EventController {
     @PostMapping("/{id}/cancel")
     @PreAuthorize("hasRole('ADMIN') or hasRole('USER')")
     public ResponseEntity<?> cancelEvent(@PathVariable Long id,
-                                       @RequestHeader("Authorization") String token) {
+                                       @CurrentUser AuthenticatedUser currentUser) {
         try {
-            User currentUser = getCurrentUser(token);
             Event existingEvent = eventService.findById(id)
                     .orElseThrow(() -> new RuntimeException("Event not found"));
             
             // Check if user is the organizer or admin
             if (!existingEvent.getOrganizer().getId().equals(currentUser.getId()) && 
-                currentUser.getRole() != User.Role.ADMIN) {
+                !currentUser.isAdmin()) {
                 return ResponseEntity.status(403).body(Map.of("error", "Not authorized to cancel this event"));
             }
             
@@ -157,50 +243,82 @@ public class EventController {
     
     @GetMapping("/my-events")
     @PreAuthorize("hasRole('ADMIN') or hasRole('USER')")
-    public ResponseEntity<Page<Event>> getMyEvents(@RequestHeader("Authorization") String token,
-                                                  @RequestParam(defaultValue = "0") int page,
-                                                  @RequestParam(defaultValue = "10") int size) {
-        User currentUser = getCurrentUser(token);
+    public ResponseEntity<Page<EventSummary>> getMyEvents(@CurrentUser AuthenticatedUser currentUser,
+                                                         @RequestParam(defaultValue = "0") int page,
+                                                         @RequestParam(defaultValue = "10") int size) {
         Pageable pageable = PageRequest.of(page, size);
-        Page<Event> events = eventService.findEventsByOrganizer(currentUser, pageable);
+        Page<EventSummary> events = eventService.findEventsByOrganizer(userService.getReference(currentUser.getId()), pageable);
         return ResponseEntity.ok(events);
     }
     
+    @GetMapping("/my-events/dashboard")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('USER')")
+    public ResponseEntity<List<EventSalesStats>> getMyEventsDashboard(@CurrentUser AuthenticatedUser currentUser) {
+        return ResponseEntity.ok(organizerDashboard.snapshot(currentUser.getId()));
+    }
+    
+    @GetMapping("/my-events/{id}/dashboard")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('USER')")
+    public ResponseEntity<EventSalesStats> getMyEventDashboard(@CurrentUser AuthenticatedUser currentUser,
+                                                              @PathVariable Long id) {
+        EventSalesStats stats = organizerDashboard.snapshot(currentUser.getId(), id);
+        return stats != null ? ResponseEntity.ok(stats) : ResponseEntity.notFound().build();
+    }
+    
+    @GetMapping(value = "/my-events/dashboard/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("hasRole('ADMIN') or hasRole('USER')")
+    public ResponseEntity<SseEmitter> streamMyEventsDashboard(@CurrentUser AuthenticatedUser currentUser) {
+        SseEmitter emitter = dashboardBroadcaster.subscribe(currentUser.getId());
+        if (emitter == null) {
+            return ResponseEntity.status(503).build();
+        }
+        return ResponseEntity.ok(emitter);
+    }
+    
     @GetMapping("/status/{status}")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<Page<Event>> getEventsByStatus(@PathVariable String status,
-                                                        @RequestParam(defaultValue = "0") int page,
-                                                        @RequestParam(defaultValue = "10") int size) {
+    public ResponseEntity<Page<EventSummary>> getEventsByStatus(@PathVariable String status,
+                                                               @RequestParam(defaultValue = "0") int page,
+                                                               @RequestParam(defaultValue = "10") int size) {
         Event.EventStatus eventStatus = Event.EventStatus.valueOf(status.toUpperCase());
         Pageable pageable = PageRequest.of(page, size);
-        Page<Event> events = eventService.findEventsByStatus(eventStatus, pageable);
+        Page<EventSummary> events = eventService.findEventsByStatus(eventStatus, pageable);
         return ResponseEntity.ok(events);
     }
     
     @GetMapping("/sold-out")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<List<Event>> getSoldOutEvents() {
-        List<Event> events = eventService.findSoldOutEvents();
-        return ResponseEntity.ok(events);
+    public ResponseEntity<?> getSoldOutEvents(@RequestParam(required = false) String cursor,
+                                              @RequestParam(defaultValue = "20") int limit) {
+        try {
+            return ResponseEntity.ok(eventService.findSoldOutEvents(cursor, CursorPage.boundedLimit(limit)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
     }
     
     @GetMapping("/{id}/availability")
     public ResponseEntity<Map<String, Object>> checkAvailability(@PathVariable Long id) {
+        EventAvailability availability = eventService.findAvailability(id).orElse(null);
         Map<String, Object> response = new HashMap<>();
-        response.put("available", eventService.isEventAvailable(id));
-        response.put("soldOut", eventService.isEventSoldOut(id));
+        response.put("available", availability != null && availability.available());
+        response.put("soldOut", availability != null && availability.soldOut());
+        if (availability != null) {
+            response.put("availableTickets", availability.availableTickets());
+        }
         return ResponseEntity.ok(response);
     }
     
-    private User getCurrentUser(String token) {
-        if (token != null && token.startsWith("Bearer ")) {
-            String jwt = token.substring(7);
-            if (jwtService.validateJwtToken(jwt)) {
-                String username = jwtService.getUserNameFromJwtToken(jwt);
-                return userService.findByUsername(username)
-                        .orElseThrow(() -> new RuntimeException("User not found"));
-            }
+    @GetMapping(value = "/public/{id}/availability/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamAvailability(@PathVariable Long id) {
+        Optional<EventAvailability> availability = eventService.findAvailability(id);
+        if (availability.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        SseEmitter emitter = availabilityBroadcaster.subscribe(id, availability.get());
+        if (emitter == null) {
+            return ResponseEntity.status(503).build();
         }
-        throw new RuntimeException("Invalid token");
+        return ResponseEntity.ok(emitter);
     }
 } 
\ No newline at end of file
@@ -1,21 +1,33 @@
 package com.eventregistration.controller;
 
+import com.eventregistration.dto.CursorPage;
+import com.eventregistration.dto.TicketView;
+import com.eventregistration.model.Event;
 import com.eventregistration.model.Ticket;
 import com.eventregistration.model.User;
-import com.eventregistration.service.JwtService;
+import com.eventregistration.security.AuthenticatedUser;
+import com.eventregistration.security.CurrentUser;
+import com.eventregistration.service.AttendeeExporter;
+import com.eventregistration.service.EventService;
+import com.eventregistration.service.ExportFormat;
+import com.eventregistration.service.ExportPermits;
 import com.eventregistration.service.TicketService;
 import com.eventregistration.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
 @RequestMapping("/tickets")
@@ -29,15 +41,20 @@ public class TicketController {
     private UserService userService;
     
     @Autowired
-    private JwtService jwtService;
+    private EventService eventService;
+    
+    @Autowired
+    private AttendeeExporter attendeeExporter;
+    
+    @Autowired
+    private ExportPermits exportPermits;
     
     @PostMapping("/purchase/{eventId}")
     @PreAuthorize("hasRole('USER')")
     public ResponseEntity<?> purchaseTicket(@PathVariable Long eventId,
-                                          @RequestHeader("Authorization") String token) {
+                                          @CurrentUser AuthenticatedUser currentUser) {
         try {
-            User currentUser = getCurrentUser(token);
-            Ticket ticket = ticketService.purchaseTicket(eventId, currentUser);
+            Ticket ticket = ticketService.purchaseTicket(eventId, userService.getReference(currentUser.getId()));
             
             Map<String, Object> response = new HashMap<>();
             response.put("message", "Ticket purchased successfully");
@@ -57,10 +74,11 @@ public class TicketController {
     @PostMapping("/validate")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<?> validateTicket(@RequestBody Map<String, String> request,
-                                          @RequestHeader("Authorization") String token) {
+                                          @CurrentUser AuthenticatedUser currentUser) {
         try {
             String qrCode = request.get("qrCode");
-            User validator = getCurrentUser(token);
+            User validator = userService.findById(currentUser.getId())
+                    .orElseThrow(() -> new RuntimeException("User not found"));
             String validatorName = validator.getFirstName() + " " + validator.getLastName();
             
             Ticket validatedTicket = ticketService.validateTicket(qrCode, validatorName);
@@ -84,10 +102,9 @@ public class TicketController {
     @PostMapping("/{ticketId}/cancel")
     @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
     public ResponseEntity<?> cancelTicket(@PathVariable Long ticketId,
-                                        @RequestHeader("Authorization") String token) {
+                                        @CurrentUser AuthenticatedUser currentUser) {
         try {
-            User currentUser = getCurrentUser(token);
-            Ticket cancelledTicket = ticketService.cancelTicket(ticketId, currentUser);
+            Ticket cancelledTicket = ticketService.cancelTicket(ticketId, currentUser.getId(), currentUser.isAdmin());
             
             Map<String, Object> response = new HashMap<>();
             response.put("message", "Ticket cancelled successfully");
@@ -104,29 +121,77 @@ public class TicketController {
     
     @GetMapping("/my-tickets")
     @PreAuthorize("hasRole('USER')")
-    public ResponseEntity<Page<Ticket>> getMyTickets(@RequestHeader("Authorization") String token,
-                                                    @RequestParam(defaultValue = "0") int page,
-                                                    @RequestParam(defaultValue = "10") int size) {
-        User currentUser = getCurrentUser(token);
+    public ResponseEntity<Page<TicketView>> getMyTickets(@CurrentUser AuthenticatedUser currentUser,
+                                                        @RequestParam(defaultValue = "0") int page,
+                                                        @RequestParam(defaultValue = "10") int size) {
         Pageable pageable = PageRequest.of(page, size);
-        Page<Ticket> tickets = ticketService.findByUser(currentUser, pageable);
+        Page<TicketView> tickets = ticketService.findViewsByUser(userService.getReference(currentUser.getId()), pageable);
         return ResponseEntity.ok(tickets);
     }
     
     @GetMapping("/my-upcoming-tickets")
     @PreAuthorize("hasRole('USER')")
-    public ResponseEntity<List<Ticket>> getMyUpcomingTickets(@RequestHeader("Authorization") String token) {
-        User currentUser = getCurrentUser(token);
-        List<Ticket> tickets = ticketService.findUpcomingTicketsByUser(currentUser);
-        return ResponseEntity.ok(tickets);
+    public ResponseEntity<?> getMyUpcomingTickets(@CurrentUser AuthenticatedUser currentUser,
+                                                  @RequestParam(required = false) String cursor,
+                                                  @RequestParam(defaultValue = "20") int limit) {
+        try {
+            return ResponseEntity.ok(ticketService.findUpcomingTicketsByUser(
+                    userService.getReference(currentUser.getId()), cursor, CursorPage.boundedLimit(limit)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
     }
     
     @GetMapping("/event/{eventId}")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<List<Ticket>> getTicketsByEvent(@PathVariable Long eventId) {
-        // This would need to be implemented with EventService to get the Event object
-        // For now, returning empty list as placeholder
-        return ResponseEntity.ok(List.of());
+    public ResponseEntity<Page<TicketView>> getTicketsByEvent(@PathVariable Long eventId,
+                                                              @RequestParam(defaultValue = "0") int page,
+                                                              @RequestParam(defaultValue = "50") int size) {
+        Pageable pageable = PageRequest.of(page, Math.min(size, 100));
+        return ResponseEntity.ok(ticketService.findViewsByEvent(eventId, pageable));
+    }
+    
+    @GetMapping("/event/{eventId}/export")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('USER')")
+    public ResponseEntity<StreamingResponseBody> exportAttendees(@PathVariable Long eventId,
+                                                                 @RequestParam(defaultValue = "csv") String format,
+                                                                 @RequestParam(defaultValue = "false") boolean gzip,
+                                                                 @CurrentUser AuthenticatedUser currentUser) {
+        ExportFormat exportFormat;
+        try {
+            exportFormat = ExportFormat.valueOf(format.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        
+        Event event = eventService.findById(eventId).orElse(null);
+        if (event == null) {
+            return ResponseEntity.notFound().build();
+        }
+        // Admins and the event's organizer only
+        if (!currentUser.isAdmin() && !currentUser.getId().equals(event.getOrganizerId())) {
+            return ResponseEntity.status(403).build();
+        }
+        
+        String filename = "event-" + eventId + "-attendees." + exportFormat.getExtension() + (gzip ? ".gz" : "");
+        MediaType contentType = gzip ? MediaType.parseMediaType("application/gzip") : exportFormat.getMediaType();
+        
+        StreamingResponseBody body = out -> {
+            if (gzip) {
+                GZIPOutputStream compressed = new GZIPOutputStream(out, 64 * 1024);
+                attendeeExporter.export(eventId, exportFormat, compressed);
+                compressed.finish();
+            } else {
+                attendeeExporter.export(eventId, exportFormat, out);
+            }
+        };
+        // Every export holds a connection until the download ends; turn away rather than queue
+        return exportPermits.acquire(body)
+                .map(permitted -> ResponseEntity.ok()
+                        .contentType(contentType)
+                        .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(filename).build().toString())
+                        .body(permitted))
+                .orElseGet(() -> ResponseEntity.status(503).build());
     }
     
     @GetMapping("/validate/{qrCode}")
@@ -157,15 +222,14 @@ public class TicketController {
     @GetMapping("/{ticketNumber}")
     @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
     public ResponseEntity<?> getTicketByNumber(@PathVariable String ticketNumber,
-                                             @RequestHeader("Authorization") String token) {
+                                             @CurrentUser AuthenticatedUser currentUser) {
         try {
-            User currentUser = getCurrentUser(token);
-            Ticket ticket = ticketService.findByTicketNumber(ticketNumber)
+            TicketView ticket = ticketService.findViewByTicketNumber(ticketNumber)
                     .orElseThrow(() -> new RuntimeException("Ticket not found"));
             
             // Check if user owns the ticket or is admin
-            if (!ticket.getUser().getId().equals(currentUser.getId()) && 
-                currentUser.getRole() != User.Role.ADMIN) {
+            if (!ticket.userId().equals(currentUser.getId()) && 
+                !currentUser.isAdmin()) {
                 return ResponseEntity.status(403).body(Map.of("error", "Not authorized to view this ticket"));
             }
             
@@ -176,16 +240,4 @@ public class TicketController {
             return ResponseEntity.badRequest().body(error);
         }
     }
-    
-    private User getCurrentUser(String token) {
-        if (token != null && token.startsWith("Bearer ")) {
-            String jwt = token.substring(7);
-            if (jwtService.validateJwtToken(jwt)) {
-                String username = jwtService.getUserNameFromJwtToken(jwt);
-                return userService.findByUsername(username)
-                        .orElseThrow(() -> new RuntimeException("User not found"));
-            }
-        }
-        throw new RuntimeException("Invalid token");
-    }
 } 
\ No newline at end of file
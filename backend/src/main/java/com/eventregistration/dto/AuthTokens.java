@@ -0,0 +1,28 @@
+package com.eventregistration.dto;
+
+public class AuthTokens {
+    
+    private final String accessToken;
+    
+    private final String refreshToken;
+    
+    private final long expiresInMs;
+    
+    public AuthTokens(String accessToken, String refreshToken, long expiresInMs) {
+        this.accessToken = accessToken;
+        this.refreshToken = refreshToken;
+        this.expiresInMs = expiresInMs;
+    }
+    
+    public String getAccessToken() {
+        return accessToken;
+    }
+    
+    public String getRefreshToken() {
+        return refreshToken;
+    }
+    
+    public long getExpiresInMs() {
+        return expiresInMs;
+    }
+} 
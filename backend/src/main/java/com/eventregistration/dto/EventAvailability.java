@@ -0,0 +1,22 @@
+package com.eventregistration.dto;
+
+import com.eventregistration.model.Event;
+
+public record EventAvailability(
+        Long eventId,
+        Integer availableTickets,
+        Integer capacity,
+        boolean available,
+        boolean soldOut) {
+    
+    // Used by the repository constructor expression and by change listeners
+    public EventAvailability(Long eventId, Event.EventStatus status, Integer availableTickets, Integer capacity) {
+        this(eventId, availableTickets, capacity,
+                status == Event.EventStatus.PUBLISHED && availableTickets != null && availableTickets > 0,
+                availableTickets != null && availableTickets == 0);
+    }
+    
+    public static EventAvailability from(Event event) {
+        return new EventAvailability(event.getId(), event.getStatus(), event.getAvailableTickets(), event.getCapacity());
+    }
+} 
\ No newline at end of file
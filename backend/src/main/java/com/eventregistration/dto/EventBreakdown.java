@@ -0,0 +1,22 @@
+package com.eventregistration.dto;
+
+import com.eventregistration.model.Event;
+
+import java.math.BigDecimal;
+
+/**
+ * One bucket of a grouped event aggregate. Revenue is the price of every ticket
+ * currently sold, so released tickets are not counted.
+ */
+public record EventBreakdown(
+        String key,
+        Long events,
+        Long capacity,
+        Long ticketsSold,
+        BigDecimal revenue) {
+    
+    // Used by the status constructor expression
+    public EventBreakdown(Event.EventStatus status, Long events, Long capacity, Long ticketsSold, BigDecimal revenue) {
+        this(status != null ? status.name() : null, events, capacity, ticketsSold, revenue);
+    }
+} 
\ No newline at end of file
@@ -0,0 +1,20 @@
+package com.eventregistration.dto;
+
+import com.eventregistration.model.Event;
+
+/**
+ * Live sales and check-in figures for one event on the organizer dashboard.
+ * {@code minutesToSellOut} is null when nothing sold in the rate window.
+ */
+public record EventSalesStats(
+        Long eventId,
+        String title,
+        Event.EventStatus status,
+        int capacity,
+        int sold,
+        int remaining,
+        long validated,
+        double salesPerMinute,
+        double scansPerMinute,
+        Double minutesToSellOut) {
+} 
\ No newline at end of file
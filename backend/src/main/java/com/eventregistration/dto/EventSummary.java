@@ -0,0 +1,35 @@
+package com.eventregistration.dto;
+
+import com.eventregistration.model.Event;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Read model for event lists, selected column-by-column by the repository so a
+ * list endpoint is one query and never touches the organizer association.
+ */
+public record EventSummary(
+        Long id,
+        String title,
+        String description,
+        String location,
+        LocalDateTime startDateTime,
+        LocalDateTime endDateTime,
+        BigDecimal price,
+        Integer capacity,
+        Integer availableTickets,
+        Event.EventStatus status,
+        String category,
+        String imageUrl,
+        Double latitude,
+        Double longitude,
+        Long organizerId) {
+    
+    public static EventSummary from(Event event) {
+        return new EventSummary(event.getId(), event.getTitle(), event.getDescription(), event.getLocation(),
+                event.getStartDateTime(), event.getEndDateTime(), event.getPrice(), event.getCapacity(),
+                event.getAvailableTickets(), event.getStatus(), event.getCategory(), event.getImageUrl(),
+                event.getLatitude(), event.getLongitude(), event.getOrganizerId());
+    }
+} 
\ No newline at end of file
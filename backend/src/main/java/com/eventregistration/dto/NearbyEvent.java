@@ -0,0 +1,4 @@
+package com.eventregistration.dto;
+
+public record NearbyEvent(EventSummary event, double distanceKm) {
+} 
\ No newline at end of file
@@ -0,0 +1,88 @@
+package com.eventregistration.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position in a keyset-paginated list: the sort key and id of the last row a
+ * client has seen. The next page is everything strictly after that pair, so
+ * each page costs one index range scan regardless of how deep it is.
+ *
+ * Cursors are opaque to clients; the encoding is an implementation detail.
+ */
+public class PageCursor {
+    
+    private static final char SEPARATOR = '|';
+    
+    private final String sortKey;
+    
+    private final long id;
+    
+    private PageCursor(String sortKey, long id) {
+        this.sortKey = sortKey;
+        this.id = id;
+    }
+    
+    public static PageCursor of(LocalDateTime sortKey, long id) {
+        return new PageCursor(sortKey.toString(), id);
+    }
+    
+    public static PageCursor of(float sortKey, long id) {
+        return new PageCursor(Float.toString(sortKey), id);
+    }
+    
+    public static PageCursor of(long id) {
+        return new PageCursor("", id);
+    }
+    
+    public static PageCursor of(String sortKey, long id) {
+        return new PageCursor(sortKey, id);
+    }
+    
+    /**
+     * Returns null for a null or blank cursor, meaning "first page".
+     */
+    public static PageCursor decode(String encoded) {
+        if (encoded == null || encoded.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(encoded), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(SEPARATOR);
+            return new PageCursor(raw.substring(0, separator), Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+    
+    public String encode() {
+        String raw = sortKey + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    public LocalDateTime getDateTime() {
+        try {
+            return LocalDateTime.parse(sortKey);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+    
+    public float getScore() {
+        try {
+            return Float.parseFloat(sortKey);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+    
+    public String getSortKey() {
+        return sortKey;
+    }
+    
+    public long getId() {
+        return id;
+    }
+} 
\ No newline at end of file
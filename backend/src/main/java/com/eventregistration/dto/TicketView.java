@@ -0,0 +1,23 @@
+package com.eventregistration.dto;
+
+import com.eventregistration.model.Ticket;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read model for a ticket together with the event fields needed to display
+ * it, produced by a single joined query.
+ */
+public record TicketView(
+        Long id,
+        String ticketNumber,
+        String qrCode,
+        Ticket.TicketStatus status,
+        LocalDateTime purchasedAt,
+        LocalDateTime validatedAt,
+        Long userId,
+        Long eventId,
+        String eventTitle,
+        LocalDateTime eventStartDateTime,
+        String eventLocation) {
+} 
\ No newline at end of file
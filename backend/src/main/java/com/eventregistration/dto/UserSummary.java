@@ -0,0 +1,19 @@
+package com.eventregistration.dto;
+
+import com.eventregistration.model.User;
+
+import java.time.LocalDateTime;
+
+/**
+ * Row of the admin user directory. Never carries credentials.
+ */
+public record UserSummary(
+        Long id,
+        String username,
+        String email,
+        String firstName,
+        String lastName,
+        User.Role role,
+        boolean enabled,
+        LocalDateTime createdAt) {
+} 
\ No newline at end of file
@@ -0,0 +1,206 @@
+package com.eventregistration.health;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.services.ses.SesClient;
+import software.amazon.awssdk.services.ses.model.GetSendQuotaResponse;
+import software.amazon.awssdk.services.sns.SnsClient;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Runs dependency checks on a private background thread and keeps the latest
+ * result of each. Health indicators only read these results, so a probe is a
+ * map lookup and never opens a connection or calls AWS itself.
+ *
+ * The datasource check borrows a pooled connection and asks the driver whether
+ * it is valid; it does not query any table. A result older than its staleness
+ * bound reports DOWN, so a wedged checker cannot keep an instance ready. The
+ * AWS checks run on their own thread with a call timeout, so a hanging AWS
+ * endpoint cannot delay the local checks past that bound.
+ */
+@Component
+public class DependencyHealthMonitor {
+    
+    private static final Logger logger = LoggerFactory.getLogger(DependencyHealthMonitor.class);
+    
+    public static final String DATASOURCE = "datasource";
+    
+    public static final String TASK_EXECUTOR = "taskExecutor";
+    
+    public static final String SES = "ses";
+    
+    public static final String SNS = "sns";
+    
+    @Autowired
+    private DataSource dataSource;
+    
+    @Autowired
+    private SesClient sesClient;
+    
+    @Autowired
+    private SnsClient snsClient;
+    
+    @Autowired(required = false)
+    @Qualifier("applicationTaskExecutor")
+    private ThreadPoolTaskExecutor taskExecutor;
+    
+    @Value("${aws.sns.topic-arn:}")
+    private String snsTopicArn;
+    
+    @Value("${health.dependencies.refresh-interval-ms:5000}")
+    private long refreshIntervalMs;
+    
+    @Value("${health.dependencies.aws-refresh-interval-ms:60000}")
+    private long awsRefreshIntervalMs;
+    
+    @Value("${health.dependencies.aws-timeout-ms:10000}")
+    private long awsTimeoutMs;
+    
+    @Value("${health.dependencies.datasource-timeout-seconds:2}")
+    private int datasourceTimeoutSeconds;
+    
+    @Value("${health.dependencies.executor-max-queue:1000}")
+    private int executorMaxQueue;
+    
+    private final Map<String, CachedHealth> results = new ConcurrentHashMap<>();
+    
+    private final ScheduledExecutorService localChecker = checkerThread("health-checks");
+    
+    private final ScheduledExecutorService awsChecker = checkerThread("health-checks-aws");
+    
+    @PostConstruct
+    void start() {
+        localChecker.scheduleWithFixedDelay(() -> {
+            check(DATASOURCE, refreshIntervalMs, this::checkDatasource);
+            check(TASK_EXECUTOR, refreshIntervalMs, this::checkTaskExecutor);
+        }, 0, refreshIntervalMs, TimeUnit.MILLISECONDS);
+        awsChecker.scheduleWithFixedDelay(() -> {
+            check(SES, awsRefreshIntervalMs, this::checkSes);
+            check(SNS, awsRefreshIntervalMs, this::checkSns);
+        }, 0, awsRefreshIntervalMs, TimeUnit.MILLISECONDS);
+    }
+    
+    @PreDestroy
+    void stop() {
+        localChecker.shutdownNow();
+        awsChecker.shutdownNow();
+    }
+    
+    /**
+     * The latest result for the named dependency; never blocks.
+     */
+    public Health get(String name) {
+        CachedHealth cached = results.get(name);
+        if (cached == null) {
+            return Health.unknown().withDetail("reason", "Not checked yet").build();
+        }
+        long age = System.currentTimeMillis() - cached.checkedAtMillis;
+        // Allow two missed refreshes before distrusting the last result
+        if (age > cached.refreshIntervalMs * 3) {
+            return Health.down().withDetail("reason", "Last check is stale").withDetail("ageMs", age).build();
+        }
+        return cached.health;
+    }
+    
+    private void check(String name, long refreshIntervalMs, Supplier<Health> check) {
+        long start = System.currentTimeMillis();
+        Health health;
+        try {
+            health = check.get();
+        } catch (Exception e) {
+            logger.debug("Health check {} failed: {}", name, e.getMessage());
+            health = Health.down().withDetail("error", e.getClass().getSimpleName() + ": " + e.getMessage()).build();
+        }
+        health = Health.status(health.getStatus())
+                .withDetails(health.getDetails())
+                .withDetail("checkMs", System.currentTimeMillis() - start)
+                .build();
+        results.put(name, new CachedHealth(health, System.currentTimeMillis(), refreshIntervalMs));
+    }
+    
+    private Health checkDatasource() {
+        try (Connection connection = dataSource.getConnection()) {
+            if (connection.isValid(datasourceTimeoutSeconds)) {
+                return Health.up().withDetail("database", connection.getMetaData().getDatabaseProductName()).build();
+            }
+            return Health.down().withDetail("reason", "Connection is not valid").build();
+        } catch (Exception e) {
+            throw new IllegalStateException(e.getMessage(), e);
+        }
+    }
+    
+    private Health checkTaskExecutor() {
+        if (taskExecutor == null) {
+            return Health.unknown().withDetail("reason", "No application task executor").build();
+        }
+        ThreadPoolExecutor pool = taskExecutor.getThreadPoolExecutor();
+        int queued = pool.getQueue().size();
+        Health.Builder builder = queued >= executorMaxQueue ? Health.down() : Health.up();
+        return builder
+                .withDetail("active", pool.getActiveCount())
+                .withDetail("poolSize", pool.getPoolSize())
+                .withDetail("maxPoolSize", pool.getMaximumPoolSize())
+                .withDetail("queued", queued)
+                .withDetail("maxQueued", executorMaxQueue)
+                .build();
+    }
+    
+    private Health checkSes() {
+        GetSendQuotaResponse quota = sesClient.getSendQuota(request -> request
+                .overrideConfiguration(config -> config.apiCallTimeout(Duration.ofMillis(awsTimeoutMs))));
+        return Health.up()
+                .withDetail("sentLast24Hours", quota.sentLast24Hours())
+                .withDetail("max24HourSend", quota.max24HourSend())
+                .build();
+    }
+    
+    private Health checkSns() {
+        if (snsTopicArn == null || snsTopicArn.isBlank()) {
+            return Health.unknown().withDetail("reason", "No topic configured").build();
+        }
+        snsClient.getTopicAttributes(request -> request.topicArn(snsTopicArn)
+                .overrideConfiguration(config -> config.apiCallTimeout(Duration.ofMillis(awsTimeoutMs))));
+        return Health.up().build();
+    }
+    
+    private static ScheduledExecutorService checkerThread(String name) {
+        return Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+    
+    private static final class CachedHealth {
+        
+        private final Health health;
+        
+        private final long checkedAtMillis;
+        
+        private final long refreshIntervalMs;
+        
+        private CachedHealth(Health health, long checkedAtMillis, long refreshIntervalMs) {
+            this.health = health;
+            this.checkedAtMillis = checkedAtMillis;
+            this.refreshIntervalMs = refreshIntervalMs;
+        }
+    }
+} 
\ No newline at end of file
@@ -0,0 +1,49 @@
+package com.eventregistration.health;
+
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Actuator indicators backed by {@link DependencyHealthMonitor}. Contributor
+ * names drop the "HealthIndicator" suffix, e.g. {@code datasource}, and are what
+ * the health groups in application.yml refer to.
+ *
+ * SES and SNS only carry notifications, so an outage there reports
+ * {@link #DEGRADED} rather than DOWN. The aggregate /actuator/health then stays
+ * 200 while still showing the failure; readiness does not include them at all.
+ */
+@Configuration
+public class HealthConfig {
+    
+    public static final Status DEGRADED = new Status("DEGRADED", "Optional dependency unavailable");
+    
+    @Bean
+    public HealthIndicator datasourceHealthIndicator(DependencyHealthMonitor monitor) {
+        return () -> monitor.get(DependencyHealthMonitor.DATASOURCE);
+    }
+    
+    @Bean
+    public HealthIndicator taskExecutorHealthIndicator(DependencyHealthMonitor monitor) {
+        return () -> monitor.get(DependencyHealthMonitor.TASK_EXECUTOR);
+    }
+    
+    @Bean
+    public HealthIndicator sesHealthIndicator(DependencyHealthMonitor monitor) {
+        return () -> optional(monitor.get(DependencyHealthMonitor.SES));
+    }
+    
+    @Bean
+    public HealthIndicator snsHealthIndicator(DependencyHealthMonitor monitor) {
+        return () -> optional(monitor.get(DependencyHealthMonitor.SNS));
+    }
+    
+    private static Health optional(Health health) {
+        if (!Status.DOWN.equals(health.getStatus())) {
+            return health;
+        }
+        return Health.status(DEGRADED).withDetails(health.getDetails()).build();
+    }
+} 
\ No newline at end of file
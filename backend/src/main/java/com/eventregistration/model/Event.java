@@ -1,6 +1,9 @@
 package com.eventregistration.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
@@ -8,9 +11,14 @@ import jakarta.validation.constraints.Size;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 
 @Entity
-@Table(name = "events")
+@Table(name = "events", indexes = {
+        // Keyset pages of the public lists: ORDER BY start_date_time, id within a status or category
+        @Index(name = "idx_events_status_start", columnList = "status, start_date_time, id"),
+        @Index(name = "idx_events_category_start", columnList = "category, start_date_time, id")
+})
 public class Event {
     
     @Id
@@ -49,6 +57,7 @@ public class Event {
     @Enumerated(EnumType.STRING)
     private EventStatus status;
     
+    @JsonIgnore
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "organizer_id")
     private User organizer;
@@ -57,6 +66,14 @@ public class Event {
     
     private String category;
     
+    @DecimalMin("-90.0")
+    @DecimalMax("90.0")
+    private Double latitude;
+    
+    @DecimalMin("-180.0")
+    @DecimalMax("180.0")
+    private Double longitude;
+    
     private LocalDateTime createdAt;
     
     private LocalDateTime updatedAt;
@@ -64,7 +81,8 @@ public class Event {
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
-        updatedAt = LocalDateTime.now();
+        // Millisecond precision survives every supported column type, so the loaded value matches
+        updatedAt = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
         if (status == null) {
             status = EventStatus.DRAFT;
         }
@@ -72,7 +90,9 @@ public class Event {
     
     @PreUpdate
     protected void onUpdate() {
-        updatedAt = LocalDateTime.now();
+        // Strictly increasing even for two writes in one millisecond; the response cache versions on it
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+        updatedAt = updatedAt != null && !now.isAfter(updatedAt) ? updatedAt.plus(1, ChronoUnit.MILLIS) : now;
     }
     
     // Constructors
@@ -180,6 +200,11 @@ public class Event {
         this.organizer = organizer;
     }
     
+    // Reads the id off the lazy proxy without initializing it
+    public Long getOrganizerId() {
+        return organizer != null ? organizer.getId() : null;
+    }
+    
     public String getImageUrl() {
         return imageUrl;
     }
@@ -196,6 +221,22 @@ public class Event {
         this.category = category;
     }
     
+    public Double getLatitude() {
+        return latitude;
+    }
+    
+    public void setLatitude(Double latitude) {
+        this.latitude = latitude;
+    }
+    
+    public Double getLongitude() {
+        return longitude;
+    }
+    
+    public void setLongitude(Double longitude) {
+        this.longitude = longitude;
+    }
+    
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
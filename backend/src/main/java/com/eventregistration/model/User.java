@@ -1,5 +1,6 @@
 package com.eventregistration.model;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
@@ -13,7 +14,7 @@ import java.util.Collection;
 import java.util.List;
 
 @Entity
-@Table(name = "users")
+@Table(name = "users", indexes = @Index(name = "idx_users_role_enabled", columnList = "role, enabled, id"))
 public class User implements UserDetails {
     
     @Id
@@ -33,6 +34,7 @@ public class User implements UserDetails {
     
     @NotBlank
     @Size(max = 120)
+    @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
     private String password;
     
     @NotBlank
@@ -48,6 +50,9 @@ public class User implements UserDetails {
     
     private boolean enabled = true;
     
+    @Column(nullable = false)
+    private long accountVersion = 0;
+    
     private LocalDateTime createdAt;
     
     private LocalDateTime updatedAt;
@@ -162,6 +167,14 @@ public class User implements UserDetails {
         this.enabled = enabled;
     }
     
+    public long getAccountVersion() {
+        return accountVersion;
+    }
+    
+    public void setAccountVersion(long accountVersion) {
+        this.accountVersion = accountVersion;
+    }
+    
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
@@ -1,5 +1,8 @@
 package com.eventregistration.repository;
 
+import com.eventregistration.dto.EventAvailability;
+import com.eventregistration.dto.EventBreakdown;
+import com.eventregistration.dto.EventSummary;
 import com.eventregistration.model.Event;
 import com.eventregistration.model.User;
 import org.springframework.data.domain.Page;
@@ -10,31 +13,107 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface EventRepository extends JpaRepository<Event, Long> {
     
+    String EVENT_SUMMARY = "SELECT new com.eventregistration.dto.EventSummary(e.id, e.title, e.description, " +
+            "e.location, e.startDateTime, e.endDateTime, e.price, e.capacity, e.availableTickets, e.status, " +
+            "e.category, e.imageUrl, e.latitude, e.longitude, e.organizer.id) FROM Event e ";
+    
+    String EVENT_BREAKDOWN = "COUNT(e), SUM(e.capacity), SUM(e.capacity - e.availableTickets), " +
+            "SUM(e.price * (e.capacity - e.availableTickets))) FROM Event e ";
+    
     Page<Event> findByStatus(Event.EventStatus status, Pageable pageable);
     
     Page<Event> findByOrganizer(User organizer, Pageable pageable);
     
+    @Query(value = EVENT_SUMMARY + "WHERE e.status = :status",
+           countQuery = "SELECT COUNT(e) FROM Event e WHERE e.status = :status")
+    Page<EventSummary> findSummariesByStatus(@Param("status") Event.EventStatus status, Pageable pageable);
+    
+    @Query(value = EVENT_SUMMARY + "WHERE e.organizer = :organizer",
+           countQuery = "SELECT COUNT(e) FROM Event e WHERE e.organizer = :organizer")
+    Page<EventSummary> findSummariesByOrganizer(@Param("organizer") User organizer, Pageable pageable);
+    
+    @Query(EVENT_SUMMARY + "WHERE e.id > :afterId ORDER BY e.id")
+    List<EventSummary> findSummariesAfter(@Param("afterId") Long afterId, Pageable pageable);
+    
+    @Query(EVENT_SUMMARY + "WHERE e.id IN :ids")
+    List<EventSummary> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+    
+    @Query("SELECT DISTINCT e.category FROM Event e WHERE e.category IS NOT NULL")
+    List<String> findDistinctCategories();
+    
     List<Event> findByStartDateTimeBetween(LocalDateTime start, LocalDateTime end);
     
-    List<Event> findByCategory(String category);
+    @Query(EVENT_SUMMARY + "WHERE e.status = 'PUBLISHED' AND e.startDateTime BETWEEN :start AND :end " +
+           "ORDER BY e.startDateTime, e.id")
+    List<EventSummary> findPublishedStartingBetween(@Param("start") LocalDateTime start,
+                                             @Param("end") LocalDateTime end,
+                                             Pageable pageable);
+    
+    // Keyset pages: the first page of each list, then everything strictly after (startDateTime, id)
+    @Query(EVENT_SUMMARY + "WHERE e.category = :category ORDER BY e.startDateTime, e.id")
+    List<EventSummary> findByCategory(@Param("category") String category, Pageable pageable);
     
-    @Query("SELECT e FROM Event e WHERE e.availableTickets > 0 AND e.status = 'PUBLISHED'")
-    List<Event> findAvailableEvents();
+    @Query(EVENT_SUMMARY + "WHERE e.category = :category " +
+           "AND (e.startDateTime > :afterStart OR (e.startDateTime = :afterStart AND e.id > :afterId)) " +
+           "ORDER BY e.startDateTime, e.id")
+    List<EventSummary> findByCategoryAfter(@Param("category") String category,
+                                    @Param("afterStart") LocalDateTime afterStart,
+                                    @Param("afterId") Long afterId,
+                                    Pageable pageable);
     
-    @Query("SELECT e FROM Event e WHERE e.title LIKE %:keyword% OR e.description LIKE %:keyword%")
-    List<Event> searchEvents(@Param("keyword") String keyword);
+    @Query(EVENT_SUMMARY + "WHERE e.availableTickets > 0 AND e.status = 'PUBLISHED' ORDER BY e.startDateTime, e.id")
+    List<EventSummary> findAvailableEvents(Pageable pageable);
     
-    @Query("SELECT e FROM Event e WHERE e.startDateTime >= :now AND e.status = 'PUBLISHED' ORDER BY e.startDateTime")
-    List<Event> findUpcomingEvents(@Param("now") LocalDateTime now);
+    @Query(EVENT_SUMMARY + "WHERE e.availableTickets > 0 AND e.status = 'PUBLISHED' " +
+           "AND (e.startDateTime > :afterStart OR (e.startDateTime = :afterStart AND e.id > :afterId)) " +
+           "ORDER BY e.startDateTime, e.id")
+    List<EventSummary> findAvailableEventsAfter(@Param("afterStart") LocalDateTime afterStart,
+                                         @Param("afterId") Long afterId,
+                                         Pageable pageable);
+    
+    @Query(EVENT_SUMMARY + "WHERE e.availableTickets = 0 AND e.status = 'PUBLISHED' ORDER BY e.startDateTime, e.id")
+    List<EventSummary> findSoldOutEvents(Pageable pageable);
+    
+    @Query(EVENT_SUMMARY + "WHERE e.availableTickets = 0 AND e.status = 'PUBLISHED' " +
+           "AND (e.startDateTime > :afterStart OR (e.startDateTime = :afterStart AND e.id > :afterId)) " +
+           "ORDER BY e.startDateTime, e.id")
+    List<EventSummary> findSoldOutEventsAfter(@Param("afterStart") LocalDateTime afterStart,
+                                       @Param("afterId") Long afterId,
+                                       Pageable pageable);
+    
+    @Query("SELECT new com.eventregistration.dto.EventAvailability(e.id, e.status, e.availableTickets, e.capacity) " +
+           "FROM Event e WHERE e.id = :id")
+    Optional<EventAvailability> findAvailability(@Param("id") Long id);
     
     @Query("SELECT COUNT(e) FROM Event e WHERE e.organizer = :organizer")
     long countEventsByOrganizer(@Param("organizer") User organizer);
     
-    @Query("SELECT e FROM Event e WHERE e.availableTickets = 0 AND e.status = 'PUBLISHED'")
-    List<Event> findSoldOutEvents();
+    @Query("SELECT COUNT(e) FROM Event e WHERE e.availableTickets > 0 AND e.status = 'PUBLISHED'")
+    long countAvailableEvents();
+    
+    @Query("SELECT COUNT(e) FROM Event e WHERE e.startDateTime >= :now AND e.status = 'PUBLISHED'")
+    long countUpcomingEvents(@Param("now") LocalDateTime now);
+    
+    @Query("SELECT COUNT(e) FROM Event e WHERE e.availableTickets = 0 AND e.status = 'PUBLISHED'")
+    long countSoldOutEvents();
+    
+    // Grouped aggregates: every bucket in one round trip, nothing materialized per event
+    @Query("SELECT new com.eventregistration.dto.EventBreakdown(e.status, " + EVENT_BREAKDOWN +
+           "GROUP BY e.status ORDER BY e.status")
+    List<EventBreakdown> breakdownByStatus();
+    
+    @Query("SELECT new com.eventregistration.dto.EventBreakdown(COALESCE(e.category, 'Uncategorized'), " +
+           EVENT_BREAKDOWN + "GROUP BY COALESCE(e.category, 'Uncategorized') ORDER BY COALESCE(e.category, 'Uncategorized')")
+    List<EventBreakdown> breakdownByCategory();
+    
+    @Query("SELECT new com.eventregistration.dto.EventBreakdown(o.username, " + EVENT_BREAKDOWN +
+           "JOIN e.organizer o GROUP BY o.username ORDER BY o.username")
+    List<EventBreakdown> breakdownByOrganizer();
 } 
\ No newline at end of file
@@ -1,8 +1,10 @@
 package com.eventregistration.repository;
 
+import com.eventregistration.dto.TicketView;
 import com.eventregistration.model.Event;
 import com.eventregistration.model.Ticket;
 import com.eventregistration.model.User;
+import com.eventregistration.stats.TicketActivity;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -17,12 +19,27 @@ import java.util.Optional;
 @Repository
 public interface TicketRepository extends JpaRepository<Ticket, Long> {
     
+    String TICKET_VIEW = "SELECT new com.eventregistration.dto.TicketView(t.id, t.ticketNumber, t.qrCode, t.status, " +
+            "t.purchasedAt, t.validatedAt, t.user.id, e.id, e.title, e.startDateTime, e.location) " +
+            "FROM Ticket t JOIN t.event e ";
+    
     List<Ticket> findByUser(User user);
     
     List<Ticket> findByEvent(Event event);
     
     Page<Ticket> findByUser(User user, Pageable pageable);
     
+    @Query(value = TICKET_VIEW + "WHERE t.user = :user ORDER BY t.purchasedAt DESC, t.id DESC",
+           countQuery = "SELECT COUNT(t) FROM Ticket t WHERE t.user = :user")
+    Page<TicketView> findViewsByUser(@Param("user") User user, Pageable pageable);
+    
+    @Query(value = TICKET_VIEW + "WHERE e.id = :eventId ORDER BY t.id",
+           countQuery = "SELECT COUNT(t) FROM Ticket t WHERE t.event.id = :eventId")
+    Page<TicketView> findViewsByEvent(@Param("eventId") Long eventId, Pageable pageable);
+    
+    @Query(TICKET_VIEW + "WHERE t.ticketNumber = :ticketNumber")
+    Optional<TicketView> findViewByTicketNumber(@Param("ticketNumber") String ticketNumber);
+    
     Optional<Ticket> findByTicketNumber(String ticketNumber);
     
     Optional<Ticket> findByQrCode(String qrCode);
@@ -35,8 +52,21 @@ public interface TicketRepository extends JpaRepository<Ticket, Long> {
     @Query("SELECT COUNT(t) FROM Ticket t WHERE t.event = :event AND t.status = 'VALIDATED'")
     long countValidatedTicketsByEvent(@Param("event") Event event);
     
-    @Query("SELECT t FROM Ticket t WHERE t.user = :user AND t.event.startDateTime >= :now")
-    List<Ticket> findUpcomingTicketsByUser(@Param("user") User user, @Param("now") LocalDateTime now);
+    @Query(TICKET_VIEW + "WHERE t.user = :user AND e.startDateTime >= :now " +
+           "ORDER BY e.startDateTime, t.id")
+    List<TicketView> findUpcomingTicketsByUser(@Param("user") User user, @Param("now") LocalDateTime now, Pageable pageable);
+    
+    @Query(TICKET_VIEW + "WHERE t.user = :user AND e.startDateTime >= :now " +
+           "AND (e.startDateTime > :afterStart OR (e.startDateTime = :afterStart AND t.id > :afterId)) " +
+           "ORDER BY e.startDateTime, t.id")
+    List<TicketView> findUpcomingTicketsByUserAfter(@Param("user") User user,
+                                                @Param("now") LocalDateTime now,
+                                                @Param("afterStart") LocalDateTime afterStart,
+                                                @Param("afterId") Long afterId,
+                                                Pageable pageable);
+    
+    @Query("SELECT t.event.id, COUNT(t) FROM Ticket t WHERE t.status = 'VALIDATED' GROUP BY t.event.id")
+    List<Object[]> countValidatedTicketsGroupedByEvent();
     
     @Query("SELECT t FROM Ticket t WHERE t.event = :event AND t.user = :user")
     List<Ticket> findTicketsByEventAndUser(@Param("event") Event event, @Param("user") User user);
@@ -44,6 +74,16 @@ public interface TicketRepository extends JpaRepository<Ticket, Long> {
     @Query("SELECT COUNT(t) FROM Ticket t WHERE t.purchasedAt >= :startDate")
     long countTicketsPurchasedAfter(@Param("startDate") LocalDateTime startDate);
     
+    @Query("SELECT COUNT(t) FROM Ticket t WHERE t.validatedAt >= :startDate")
+    long countTicketsValidatedAfter(@Param("startDate") LocalDateTime startDate);
+    
     @Query("SELECT t FROM Ticket t WHERE t.validatedAt IS NOT NULL AND t.validatedAt >= :startDate")
     List<Ticket> findTicketsValidatedAfter(@Param("startDate") LocalDateTime startDate);
+    
+    @Query("SELECT new com.eventregistration.stats.TicketActivity(t.id, t.event.id, t.status, " +
+           "t.purchasedAt, t.validatedAt, t.updatedAt) FROM Ticket t WHERE t.id > :afterId " +
+           "AND (t.purchasedAt >= :since OR t.validatedAt >= :since OR t.updatedAt >= :since) ORDER BY t.id")
+    List<TicketActivity> findActivitySince(@Param("since") LocalDateTime since,
+                                           @Param("afterId") Long afterId,
+                                           Pageable pageable);
 } 
\ No newline at end of file
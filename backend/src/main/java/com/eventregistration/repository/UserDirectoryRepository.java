@@ -0,0 +1,34 @@
+package com.eventregistration.repository;
+
+import com.eventregistration.dto.UserSummary;
+import com.eventregistration.model.User;
+
+import java.util.List;
+
+/**
+ * Keyset-paged reads of the admin user directory. Each query only carries the
+ * filters that were actually given, and prefix searches page along the
+ * username or email index instead of scanning by id.
+ */
+public interface UserDirectoryRepository {
+    
+    /**
+     * Users after {@code afterId} in id order.
+     */
+    List<UserSummary> findDirectoryPage(long afterId, User.Role role, Boolean enabled, int limit);
+    
+    /**
+     * Users whose username starts with {@code prefix}, in username order after
+     * {@code afterUsername} (null for the first page).
+     */
+    List<UserSummary> findUsernamePrefixPage(String prefix, String afterUsername, User.Role role,
+                                             Boolean enabled, int limit);
+    
+    /**
+     * Users whose email, but not username, starts with {@code prefix}, in email
+     * order after {@code afterEmail} (null for the first page). Username matches
+     * are left to {@link #findUsernamePrefixPage} so no user is listed twice.
+     */
+    List<UserSummary> findEmailPrefixPage(String prefix, String afterEmail, User.Role role,
+                                          Boolean enabled, int limit);
+} 
\ No newline at end of file
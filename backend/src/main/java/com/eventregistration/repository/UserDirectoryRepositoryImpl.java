@@ -0,0 +1,104 @@
+package com.eventregistration.repository;
+
+import com.eventregistration.dto.UserSummary;
+import com.eventregistration.model.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+class UserDirectoryRepositoryImpl implements UserDirectoryRepository {
+    
+    private static final String SELECT = "SELECT new com.eventregistration.dto.UserSummary(u.id, u.username, " +
+            "u.email, u.firstName, u.lastName, u.role, u.enabled, u.createdAt) FROM User u WHERE ";
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    @Override
+    public List<UserSummary> findDirectoryPage(long afterId, User.Role role, Boolean enabled, int limit) {
+        StringBuilder jpql = new StringBuilder(SELECT).append("u.id > :afterId");
+        Map<String, Object> params = new HashMap<>();
+        params.put("afterId", afterId);
+        appendFilters(jpql, params, role, enabled);
+        jpql.append(" ORDER BY u.id");
+        return run(jpql, params, limit);
+    }
+    
+    @Override
+    public List<UserSummary> findUsernamePrefixPage(String prefix, String afterUsername, User.Role role,
+                                                    Boolean enabled, int limit) {
+        return findPrefixPage("u.username", prefix, afterUsername, role, enabled, limit, false);
+    }
+    
+    @Override
+    public List<UserSummary> findEmailPrefixPage(String prefix, String afterEmail, User.Role role,
+                                                 Boolean enabled, int limit) {
+        return findPrefixPage("u.email", prefix, afterEmail, role, enabled, limit, true);
+    }
+    
+    private List<UserSummary> findPrefixPage(String column, String prefix, String after, User.Role role,
+                                             Boolean enabled, int limit, boolean excludeUsernameMatches) {
+        StringBuilder jpql = new StringBuilder(SELECT);
+        Map<String, Object> params = new HashMap<>();
+        // The range keeps the scan on the unique index; LIKE is what decides a match
+        if (after != null) {
+            jpql.append(column).append(" > :after");
+            params.put("after", after);
+        } else {
+            jpql.append(column).append(" >= :after");
+            params.put("after", prefix);
+        }
+        String end = prefixEnd(prefix);
+        if (end != null) {
+            jpql.append(" AND ").append(column).append(" < :end");
+            params.put("end", end);
+        }
+        jpql.append(" AND ").append(column).append(" LIKE :pattern ESCAPE '\\'");
+        params.put("pattern", likePattern(prefix));
+        if (excludeUsernameMatches) {
+            jpql.append(" AND u.username NOT LIKE :pattern ESCAPE '\\'");
+        }
+        appendFilters(jpql, params, role, enabled);
+        jpql.append(" ORDER BY ").append(column);
+        return run(jpql, params, limit);
+    }
+    
+    private static void appendFilters(StringBuilder jpql, Map<String, Object> params, User.Role role,
+                                      Boolean enabled) {
+        if (role != null) {
+            jpql.append(" AND u.role = :role");
+            params.put("role", role);
+        }
+        if (enabled != null) {
+            jpql.append(" AND u.enabled = :enabled");
+            params.put("enabled", enabled);
+        }
+    }
+    
+    private List<UserSummary> run(StringBuilder jpql, Map<String, Object> params, int limit) {
+        TypedQuery<UserSummary> query = entityManager.createQuery(jpql.toString(), UserSummary.class);
+        params.forEach(query::setParameter);
+        return query.setMaxResults(limit).getResultList();
+    }
+    
+    private static String likePattern(String prefix) {
+        return prefix.replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_") + "%";
+    }
+    
+    // Smallest string greater than every string starting with prefix, or null if there is none
+    private static String prefixEnd(String prefix) {
+        for (int i = prefix.length() - 1; i >= 0; i--) {
+            char c = prefix.charAt(i);
+            if (c != Character.MAX_VALUE) {
+                return prefix.substring(0, i) + (char) (c + 1);
+            }
+        }
+        return null;
+    }
+} 
\ No newline at end of file
@@ -10,7 +10,7 @@ import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface UserRepository extends JpaRepository<User, Long> {
+public interface UserRepository extends JpaRepository<User, Long>, UserDirectoryRepository {
     
     Optional<User> findByUsername(String username);
     
@@ -20,11 +20,14 @@ public interface UserRepository extends JpaRepository<User, Long> {
     
     boolean existsByEmail(String email);
     
-    List<User> findByRole(User.Role role);
+    long countByRole(User.Role role);
     
     @Query("SELECT u FROM User u WHERE u.role = 'ADMIN'")
     List<User> findAllAdmins();
     
+    @Query("SELECT u.accountVersion FROM User u WHERE u.id = :id AND u.enabled = true")
+    Optional<Long> findActiveAccountVersion(@Param("id") Long id);
+    
     @Query("SELECT COUNT(u) FROM User u WHERE u.createdAt >= :startDate")
     long countUsersRegisteredAfter(@Param("startDate") java.time.LocalDateTime startDate);
 } 
\ No newline at end of file
@@ -0,0 +1,189 @@
+package com.eventregistration.search;
+
+import com.eventregistration.dto.EventSummary;
+import com.eventregistration.dto.NearbyEvent;
+import com.eventregistration.model.Event;
+import com.eventregistration.repository.EventRepository;
+import com.eventregistration.service.EventChangedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Published, geocoded events bucketed into a fixed lat/lon grid. A radius query
+ * visits only the cells overlapping the search circle's bounding box, then
+ * checks exact great-circle distance for the events in them.
+ *
+ * Results are ranked by distance and start date together: one radius of
+ * distance weighs the same as {@value #DATE_HORIZON_DAYS} days of waiting.
+ */
+@Component
+public class EventGeoIndex {
+    
+    private static final Logger logger = LoggerFactory.getLogger(EventGeoIndex.class);
+    
+    public static final double MAX_RADIUS_KM = 200;
+    
+    private static final double CELL_DEGREES = 0.1;
+    
+    private static final int LON_CELLS = (int) Math.round(360 / CELL_DEGREES);
+    
+    private static final double KM_PER_DEGREE = 111.32;
+    
+    private static final double EARTH_RADIUS_KM = 6371.0;
+    
+    private static final double DATE_HORIZON_DAYS = 30;
+    
+    private static final int BOOTSTRAP_BATCH_SIZE = 1000;
+    
+    @Autowired
+    private EventRepository eventRepository;
+    
+    private final Map<Long, Set<Long>> cells = new ConcurrentHashMap<>();
+    
+    private final Map<Long, Located> eventsById = new ConcurrentHashMap<>();
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        int page = 0;
+        Page<EventSummary> batch;
+        do {
+            batch = eventRepository.findSummariesByStatus(Event.EventStatus.PUBLISHED,
+                    PageRequest.of(page++, BOOTSTRAP_BATCH_SIZE, Sort.by("id")));
+            batch.forEach(this::put);
+        } while (batch.hasNext());
+        logger.info("Indexed {} geocoded events in {} ms", eventsById.size(), System.currentTimeMillis() - start);
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEventChanged(EventChangedEvent change) {
+        Event event = change.getEvent();
+        if (event.getStatus() == Event.EventStatus.PUBLISHED) {
+            put(EventSummary.from(event));
+        } else {
+            remove(event.getId());
+        }
+    }
+    
+    /**
+     * Upcoming or ongoing events within {@code radiusKm} of the point, best
+     * distance/date score first.
+     */
+    public List<NearbyEvent> findNearby(double latitude, double longitude, double radiusKm, int limit) {
+        double radius = Math.min(radiusKm, MAX_RADIUS_KM);
+        LocalDateTime now = LocalDateTime.now();
+        
+        int minLatCell = latCell(Math.max(-90, latitude - radius / KM_PER_DEGREE));
+        int maxLatCell = latCell(Math.min(90, latitude + radius / KM_PER_DEGREE));
+        double cosLat = Math.cos(Math.toRadians(Math.min(89.9, Math.abs(latitude) + radius / KM_PER_DEGREE)));
+        double lonSpan = Math.min(180, radius / (KM_PER_DEGREE * cosLat));
+        int lonCellSpan = lonSpan >= 180 ? LON_CELLS : (int) Math.ceil(lonSpan / CELL_DEGREES);
+        int centerLonCell = lonCell(longitude);
+        
+        List<ScoredEvent> matches = new ArrayList<>();
+        for (int latCell = minLatCell; latCell <= maxLatCell; latCell++) {
+            for (int offset = -lonCellSpan; offset <= lonCellSpan && offset < LON_CELLS - lonCellSpan; offset++) {
+                int lonCell = Math.floorMod(centerLonCell + offset, LON_CELLS);
+                Set<Long> ids = cells.get(cellKey(latCell, lonCell));
+                if (ids == null) {
+                    continue;
+                }
+                for (Long id : ids) {
+                    Located located = eventsById.get(id);
+                    if (located == null || !isCurrent(located.event, now)) {
+                        continue;
+                    }
+                    double distance = distanceKm(latitude, longitude, located.event.latitude(), located.event.longitude());
+                    if (distance <= radius) {
+                        matches.add(new ScoredEvent(located.event, distance,
+                                score(located.event, distance, radius, now)));
+                    }
+                }
+            }
+        }
+        
+        return matches.stream()
+                .sorted(Comparator.comparingDouble(ScoredEvent::score))
+                .limit(limit)
+                .map(match -> new NearbyEvent(match.event, Math.round(match.distanceKm * 100) / 100.0))
+                .toList();
+    }
+    
+    private synchronized void put(EventSummary event) {
+        remove(event.id());
+        if (event.latitude() == null || event.longitude() == null) {
+            return;
+        }
+        long cell = cellKey(latCell(event.latitude()), lonCell(event.longitude()));
+        eventsById.put(event.id(), new Located(event, cell));
+        cells.computeIfAbsent(cell, key -> ConcurrentHashMap.newKeySet()).add(event.id());
+    }
+    
+    private synchronized void remove(Long eventId) {
+        Located previous = eventsById.remove(eventId);
+        if (previous != null) {
+            Set<Long> ids = cells.get(previous.cell);
+            if (ids != null) {
+                ids.remove(eventId);
+                if (ids.isEmpty()) {
+                    cells.remove(previous.cell);
+                }
+            }
+        }
+    }
+    
+    private static boolean isCurrent(EventSummary event, LocalDateTime now) {
+        return event.endDateTime() == null || event.endDateTime().isAfter(now);
+    }
+    
+    private static double score(EventSummary event, double distance, double radius, LocalDateTime now) {
+        double daysAway = event.startDateTime() == null
+                ? 0 : Math.max(0, Duration.between(now, event.startDateTime()).toMinutes() / 1440.0);
+        return distance / Math.max(radius, 1) + daysAway / DATE_HORIZON_DAYS;
+    }
+    
+    private static int latCell(double latitude) {
+        return (int) Math.floor((latitude + 90) / CELL_DEGREES);
+    }
+    
+    private static int lonCell(double longitude) {
+        return Math.floorMod((int) Math.floor((longitude + 180) / CELL_DEGREES), LON_CELLS);
+    }
+    
+    private static long cellKey(int latCell, int lonCell) {
+        return (long) latCell * LON_CELLS + lonCell;
+    }
+    
+    // Haversine
+    private static double distanceKm(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+    
+    private record Located(EventSummary event, long cell) {
+    }
+    
+    private record ScoredEvent(EventSummary event, double distanceKm, double score) {
+    }
+} 
\ No newline at end of file
@@ -0,0 +1,374 @@
+package com.eventregistration.search;
+
+import com.eventregistration.model.Event;
+import com.eventregistration.repository.EventRepository;
+import com.eventregistration.service.EventChangedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index over event title, description, location and
+ * category, ranked with BM25. Replaces the unindexable
+ * {@code LIKE '%keyword%'} scan.
+ *
+ * Every (re)indexed event gets a fresh document ordinal, so posting lists are
+ * append-only; the old ordinal is tombstoned and reclaimed by periodic
+ * compaction. All query terms must match (the last one as a prefix, so partial
+ * words typed into the search box still hit).
+ */
+@Component
+public class EventSearchIndex {
+    
+    private static final Logger logger = LoggerFactory.getLogger(EventSearchIndex.class);
+    
+    private static final float K1 = 1.2f;
+    
+    private static final float B = 0.75f;
+    
+    private static final int TITLE_BOOST = 2;
+    
+    private static final int MAX_PREFIX_EXPANSIONS = 64;
+    
+    private static final int MIN_DELETED_FOR_COMPACTION = 1024;
+    
+    private static final int BOOTSTRAP_BATCH_SIZE = 1000;
+    
+    private static final Comparator<SearchHit> RANKING = Comparator
+            .comparingDouble(SearchHit::getScore).reversed()
+            .thenComparingLong(SearchHit::getEventId);
+    
+    @Autowired
+    private EventRepository eventRepository;
+    
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    
+    private final TreeMap<String, PostingList> postings = new TreeMap<>();
+    
+    private final Map<Long, Integer> ordinalByEventId = new HashMap<>();
+    
+    private long[] eventIdByOrdinal = new long[1024];
+    
+    private int[] docLengths = new int[1024];
+    
+    // Posting lists each ordinal appears in, so tombstoning it keeps their live counts exact
+    private PostingList[][] docPostings = new PostingList[1024][];
+    
+    private final BitSet deleted = new BitSet();
+    
+    private int nextOrdinal;
+    
+    private int liveDocs;
+    
+    private long totalLength;
+    
+    // Score accumulators are sized to the ordinal space, so keep a few around instead of one per thread
+    private final ConcurrentLinkedQueue<Scratch> scratchPool = new ConcurrentLinkedQueue<>();
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        int page = 0;
+        Page<Event> batch;
+        do {
+            batch = eventRepository.findAll(PageRequest.of(page++, BOOTSTRAP_BATCH_SIZE, Sort.by("id")));
+            batch.forEach(this::index);
+        } while (batch.hasNext());
+        logger.info("Indexed {} events for search in {} ms", liveDocs, System.currentTimeMillis() - start);
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEventChanged(EventChangedEvent change) {
+        // Ticket counts are not searchable
+        if (!change.isInventoryChange()) {
+            index(change.getEvent());
+        }
+    }
+    
+    public void index(Event event) {
+        Map<String, Integer> termFrequencies = new HashMap<>();
+        int length = addTerms(termFrequencies, event.getTitle(), TITLE_BOOST)
+                + addTerms(termFrequencies, event.getDescription(), 1)
+                + addTerms(termFrequencies, event.getLocation(), 1)
+                + addTerms(termFrequencies, event.getCategory(), 1);
+        
+        lock.writeLock().lock();
+        try {
+            removeLocked(event.getId());
+            
+            int ordinal = nextOrdinal;
+            ensureCapacity(ordinal + 1);
+            nextOrdinal++;
+            eventIdByOrdinal[ordinal] = event.getId();
+            docLengths[ordinal] = length;
+            ordinalByEventId.put(event.getId(), ordinal);
+            liveDocs++;
+            totalLength += length;
+            PostingList[] lists = new PostingList[termFrequencies.size()];
+            int[] next = {0};
+            termFrequencies.forEach((term, frequency) -> {
+                PostingList list = postings.computeIfAbsent(term, t -> new PostingList());
+                list.append(ordinal, frequency);
+                lists[next[0]++] = list;
+            });
+            docPostings[ordinal] = lists;
+            
+            int deletedCount = nextOrdinal - liveDocs;
+            if (deletedCount > MIN_DELETED_FOR_COMPACTION && deletedCount > nextOrdinal / 4) {
+                compactLocked();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    public void remove(Long eventId) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(eventId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    /**
+     * Returns up to {@code limit} hits ranked by BM25 score (ties broken by event
+     * id), strictly after {@code after} or from the top when it is null. Deep pages
+     * cost the same {@code limit}-sized heap as the first.
+     */
+    public SearchResult searchAfter(String query, SearchHit after, int limit) {
+        List<String> terms = SearchTokenizer.tokenize(query);
+        if (terms.isEmpty() || limit <= 0) {
+            return SearchResult.empty();
+        }
+        boolean expandLastTerm = !Character.isWhitespace(query.charAt(query.length() - 1));
+        
+        lock.readLock().lock();
+        try {
+            if (liveDocs == 0) {
+                return SearchResult.empty();
+            }
+            
+            Scratch scores = acquireScratch();
+            scores.reset(nextOrdinal);
+            float averageLength = (float) totalLength / liveDocs;
+            int groups = 0;
+            
+            for (int i = 0; i < terms.size(); i++) {
+                List<PostingList> lists = i == terms.size() - 1 && expandLastTerm
+                        ? expandPrefix(terms.get(i))
+                        : exactMatch(terms.get(i));
+                int group = ++groups;
+                for (PostingList list : lists) {
+                    float idf = idf(list.liveDocCount());
+                    list.forEach((ordinal, frequency) -> {
+                        if (!deleted.get(ordinal)) {
+                            float norm = frequency * (K1 + 1)
+                                    / (frequency + K1 * (1 - B + B * docLengths[ordinal] / averageLength));
+                            scores.add(ordinal, idf * norm, group);
+                        }
+                    });
+                }
+            }
+            
+            PriorityQueue<SearchHit> top = new PriorityQueue<>(limit + 1, RANKING.reversed());
+            int totalHits = 0;
+            for (int i = 0; i < scores.touchedCount; i++) {
+                int ordinal = scores.touched[i];
+                if (scores.matchedGroups[ordinal] != groups) {
+                    continue;
+                }
+                totalHits++;
+                SearchHit hit = new SearchHit(eventIdByOrdinal[ordinal], scores.scores[ordinal]);
+                if (after != null && RANKING.compare(hit, after) <= 0) {
+                    continue;
+                }
+                if (top.size() < limit) {
+                    top.offer(hit);
+                } else if (RANKING.compare(hit, top.peek()) < 0) {
+                    top.poll();
+                    top.offer(hit);
+                }
+            }
+            
+            List<SearchHit> ranked = new ArrayList<>(top);
+            ranked.sort(RANKING);
+            releaseScratch(scores);
+            return new SearchResult(List.copyOf(ranked), totalHits);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    private Scratch acquireScratch() {
+        Scratch pooled = scratchPool.poll();
+        return pooled != null ? pooled : new Scratch();
+    }
+    
+    private void releaseScratch(Scratch scores) {
+        if (scratchPool.size() < Runtime.getRuntime().availableProcessors()) {
+            scratchPool.offer(scores);
+        }
+    }
+    
+    private List<PostingList> exactMatch(String term) {
+        PostingList list = postings.get(term);
+        return list != null ? List.of(list) : List.of();
+    }
+    
+    private List<PostingList> expandPrefix(String prefix) {
+        List<PostingList> lists = new ArrayList<>();
+        for (PostingList list : postings.subMap(prefix, true, prefix + Character.MAX_VALUE, true).values()) {
+            lists.add(list);
+            if (lists.size() == MAX_PREFIX_EXPANSIONS) {
+                break;
+            }
+        }
+        return lists;
+    }
+    
+    private float idf(int docFrequency) {
+        return (float) Math.log(1 + (liveDocs - docFrequency + 0.5) / (docFrequency + 0.5));
+    }
+    
+    private static int addTerms(Map<String, Integer> termFrequencies, String text, int weight) {
+        List<String> tokens = SearchTokenizer.tokenize(text);
+        for (String token : tokens) {
+            termFrequencies.merge(token, weight, Integer::sum);
+        }
+        return tokens.size() * weight;
+    }
+    
+    private void removeLocked(Long eventId) {
+        Integer ordinal = ordinalByEventId.remove(eventId);
+        if (ordinal != null) {
+            deleted.set(ordinal);
+            liveDocs--;
+            totalLength -= docLengths[ordinal];
+            for (PostingList list : docPostings[ordinal]) {
+                list.markDeleted();
+            }
+            docPostings[ordinal] = null;
+        }
+    }
+    
+    private void ensureCapacity(int size) {
+        if (size > eventIdByOrdinal.length) {
+            int newLength = Math.max(size, eventIdByOrdinal.length * 2);
+            long[] ids = new long[newLength];
+            System.arraycopy(eventIdByOrdinal, 0, ids, 0, nextOrdinal);
+            int[] lengths = new int[newLength];
+            System.arraycopy(docLengths, 0, lengths, 0, nextOrdinal);
+            PostingList[][] lists = new PostingList[newLength][];
+            System.arraycopy(docPostings, 0, lists, 0, nextOrdinal);
+            eventIdByOrdinal = ids;
+            docLengths = lengths;
+            docPostings = lists;
+        }
+    }
+    
+    /**
+     * Renumbers live documents densely and rewrites every posting list without
+     * the tombstoned ordinals.
+     */
+    private void compactLocked() {
+        int[] remap = new int[nextOrdinal];
+        int live = 0;
+        for (int ordinal = 0; ordinal < nextOrdinal; ordinal++) {
+            remap[ordinal] = deleted.get(ordinal) ? -1 : live++;
+        }
+        
+        long[] ids = new long[Math.max(1024, live * 2)];
+        int[] lengths = new int[ids.length];
+        PostingList[][] lists = new PostingList[ids.length][];
+        for (int ordinal = 0; ordinal < nextOrdinal; ordinal++) {
+            if (remap[ordinal] >= 0) {
+                ids[remap[ordinal]] = eventIdByOrdinal[ordinal];
+                lengths[remap[ordinal]] = docLengths[ordinal];
+                lists[remap[ordinal]] = docPostings[ordinal];
+            }
+        }
+        
+        // Rewritten in place, so the per-document references above stay valid
+        Iterator<PostingList> entries = postings.values().iterator();
+        while (entries.hasNext()) {
+            PostingList list = entries.next();
+            list.compact(remap);
+            if (list.docCount() == 0) {
+                entries.remove();
+            }
+        }
+        
+        ordinalByEventId.replaceAll((eventId, ordinal) -> remap[ordinal]);
+        eventIdByOrdinal = ids;
+        docLengths = lengths;
+        docPostings = lists;
+        deleted.clear();
+        logger.debug("Compacted search index from {} to {} ordinals", nextOrdinal, live);
+        nextOrdinal = live;
+    }
+    
+    /**
+     * Score accumulators for one query, reset only at the ordinals it touched.
+     */
+    private static final class Scratch {
+        
+        private float[] scores = new float[0];
+        
+        private int[] lastGroup = new int[0];
+        
+        private int[] matchedGroups = new int[0];
+        
+        private int[] touched = new int[0];
+        
+        private int touchedCount;
+        
+        void reset(int size) {
+            if (scores.length < size) {
+                int capacity = Math.max(size, scores.length * 2);
+                scores = new float[capacity];
+                lastGroup = new int[capacity];
+                matchedGroups = new int[capacity];
+                touched = new int[capacity];
+            } else {
+                for (int i = 0; i < touchedCount; i++) {
+                    int ordinal = touched[i];
+                    scores[ordinal] = 0;
+                    lastGroup[ordinal] = 0;
+                    matchedGroups[ordinal] = 0;
+                }
+            }
+            touchedCount = 0;
+        }
+        
+        void add(int ordinal, float score, int group) {
+            if (lastGroup[ordinal] == 0) {
+                touched[touchedCount++] = ordinal;
+            }
+            if (lastGroup[ordinal] != group) {
+                lastGroup[ordinal] = group;
+                matchedGroups[ordinal]++;
+            }
+            scores[ordinal] += score;
+        }
+    }
+} 
\ No newline at end of file
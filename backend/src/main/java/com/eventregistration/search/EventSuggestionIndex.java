@@ -0,0 +1,360 @@
+package com.eventregistration.search;
+
+import com.eventregistration.model.Event;
+import com.eventregistration.repository.EventRepository;
+import com.eventregistration.service.EventChangedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Prefix autocomplete over event titles, locations and categories.
+ *
+ * Suggestions are served from an immutable snapshot: a sorted array of word-start
+ * suffixes of every phrase (stored as phrase/offset pairs, not strings) plus a
+ * max segment tree over their scores. A prefix is two binary searches, and the
+ * top-k best phrases in that range are pulled from the segment tree in
+ * O(k log n), independent of how many phrases share the prefix.
+ *
+ * Event writes update the source map immediately; the snapshot is rebuilt in the
+ * background, within a second for catalog changes and on a slower cadence when
+ * only ticket sales (popularity) moved.
+ */
+@Component
+public class EventSuggestionIndex {
+    
+    private static final Logger logger = LoggerFactory.getLogger(EventSuggestionIndex.class);
+    
+    private static final int MAX_WORD_STARTS_PER_PHRASE = 4;
+    
+    private static final int BOOTSTRAP_BATCH_SIZE = 1000;
+    
+    @Autowired
+    private EventRepository eventRepository;
+    
+    private final ConcurrentMap<Long, SourceEvent> sources = new ConcurrentHashMap<>();
+    
+    private final AtomicBoolean catalogDirty = new AtomicBoolean();
+    
+    private final AtomicBoolean popularityDirty = new AtomicBoolean();
+    
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void bootstrap() {
+        int page = 0;
+        Page<Event> batch;
+        do {
+            batch = eventRepository.findAll(PageRequest.of(page++, BOOTSTRAP_BATCH_SIZE, Sort.by("id")));
+            batch.forEach(this::update);
+        } while (batch.hasNext());
+        rebuild();
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEventChanged(EventChangedEvent change) {
+        update(change.getEvent());
+        if (change.isInventoryChange()) {
+            popularityDirty.set(true);
+        } else {
+            catalogDirty.set(true);
+        }
+    }
+    
+    @Scheduled(fixedDelayString = "${events.suggest.rebuild-interval-ms:1000}")
+    public void rebuildIfCatalogChanged() {
+        if (catalogDirty.getAndSet(false)) {
+            popularityDirty.set(false);
+            rebuild();
+        }
+    }
+    
+    @Scheduled(fixedDelayString = "${events.suggest.popularity-rebuild-interval-ms:30000}")
+    public void rebuildIfPopularityChanged() {
+        if (popularityDirty.getAndSet(false)) {
+            rebuild();
+        }
+    }
+    
+    public List<Suggestion> suggest(String query, int limit) {
+        String prefix = String.join(" ", SearchTokenizer.tokenize(query));
+        if (prefix.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        return snapshot.topK(prefix, limit);
+    }
+    
+    private void update(Event event) {
+        if (event.getStatus() == Event.EventStatus.PUBLISHED) {
+            sources.put(event.getId(), new SourceEvent(event));
+        } else {
+            sources.remove(event.getId());
+        }
+    }
+    
+    private void rebuild() {
+        long start = System.currentTimeMillis();
+        LocalDateTime now = LocalDateTime.now();
+        
+        // Aggregate every event into its phrases, keeping each phrase's best score
+        Map<String, Phrase> phrases = new HashMap<>();
+        for (SourceEvent source : sources.values()) {
+            if (source.endDateTime == null || source.endDateTime.isBefore(now)) {
+                continue;
+            }
+            float score = source.score(now);
+            addPhrase(phrases, source.title, "title", source.id, score);
+            addPhrase(phrases, source.location, "location", null, score);
+            addPhrase(phrases, source.category, "category", null, score);
+        }
+        
+        snapshot = Snapshot.build(new ArrayList<>(phrases.values()));
+        logger.debug("Rebuilt suggestion index with {} phrases in {} ms",
+                phrases.size(), System.currentTimeMillis() - start);
+    }
+    
+    private static void addPhrase(Map<String, Phrase> phrases, String text, String type, Long eventId, float score) {
+        String normalized = String.join(" ", SearchTokenizer.tokenize(text));
+        if (normalized.isEmpty()) {
+            return;
+        }
+        Phrase phrase = phrases.computeIfAbsent(type + '\u0000' + normalized,
+                key -> new Phrase(text.trim(), normalized, type));
+        if (score > phrase.score) {
+            phrase.score = score;
+            phrase.eventId = eventId;
+        }
+    }
+    
+    private static final class SourceEvent {
+        
+        private final Long id;
+        
+        private final String title;
+        
+        private final String location;
+        
+        private final String category;
+        
+        private final LocalDateTime startDateTime;
+        
+        private final LocalDateTime endDateTime;
+        
+        private final int ticketsSold;
+        
+        private SourceEvent(Event event) {
+            this.id = event.getId();
+            this.title = event.getTitle();
+            this.location = event.getLocation();
+            this.category = event.getCategory();
+            this.startDateTime = event.getStartDateTime();
+            this.endDateTime = event.getEndDateTime();
+            this.ticketsSold = event.getCapacity() != null && event.getAvailableTickets() != null
+                    ? event.getCapacity() - event.getAvailableTickets() : 0;
+        }
+        
+        /**
+         * Popularity (log of tickets sold) decayed by how far away the event is.
+         */
+        private float score(LocalDateTime now) {
+            if (startDateTime == null) {
+                return 0;
+            }
+            double daysAway = Math.max(0, Duration.between(now, startDateTime).toHours() / 24.0);
+            return (float) ((1 + Math.log1p(Math.max(0, ticketsSold))) / (1 + daysAway / 7.0));
+        }
+    }
+    
+    private static final class Phrase {
+        
+        private final String display;
+        
+        private final String normalized;
+        
+        private final String type;
+        
+        private float score = -1;
+        
+        private Long eventId;
+        
+        private Phrase(String display, String normalized, String type) {
+            this.display = display;
+            this.normalized = normalized;
+            this.type = type;
+        }
+    }
+    
+    private static final class Snapshot {
+        
+        private static final Snapshot EMPTY = build(List.of());
+        
+        private final Phrase[] phrases;
+        
+        // Sorted suffix keys: phrase index and the char offset the suffix starts at
+        private final int[] keyPhrase;
+        
+        private final int[] keyOffset;
+        
+        // Iterative segment tree holding, per node, the key index with the best score
+        private final int[] tree;
+        
+        private final int size;
+        
+        private Snapshot(Phrase[] phrases, int[] keyPhrase, int[] keyOffset) {
+            this.phrases = phrases;
+            this.keyPhrase = keyPhrase;
+            this.keyOffset = keyOffset;
+            this.size = keyPhrase.length;
+            this.tree = new int[Math.max(2, 2 * size)];
+            for (int i = 0; i < size; i++) {
+                tree[size + i] = i;
+            }
+            for (int i = size - 1; i > 0; i--) {
+                tree[i] = better(tree[2 * i], tree[2 * i + 1]);
+            }
+        }
+        
+        static Snapshot build(List<Phrase> phraseList) {
+            Phrase[] phrases = phraseList.toArray(new Phrase[0]);
+            List<long[]> keys = new ArrayList<>();
+            for (int p = 0; p < phrases.length; p++) {
+                String text = phrases[p].normalized;
+                int wordStarts = 0;
+                for (int offset = 0; offset < text.length() && wordStarts < MAX_WORD_STARTS_PER_PHRASE; offset++) {
+                    if (offset == 0 || text.charAt(offset - 1) == ' ') {
+                        keys.add(new long[] {p, offset});
+                        wordStarts++;
+                    }
+                }
+            }
+            
+            long[][] sorted = keys.toArray(new long[0][]);
+            Arrays.sort(sorted, (a, b) -> compareSuffixes(phrases, (int) a[0], (int) a[1], (int) b[0], (int) b[1]));
+            int[] keyPhrase = new int[sorted.length];
+            int[] keyOffset = new int[sorted.length];
+            for (int i = 0; i < sorted.length; i++) {
+                keyPhrase[i] = (int) sorted[i][0];
+                keyOffset[i] = (int) sorted[i][1];
+            }
+            return new Snapshot(phrases, keyPhrase, keyOffset);
+        }
+        
+        List<Suggestion> topK(String prefix, int k) {
+            int lo = lowerBound(prefix, false);
+            int hi = lowerBound(prefix, true);
+            if (lo >= hi) {
+                return List.of();
+            }
+            
+            // Best-first expansion: pop the best key of a range, then split the range around it
+            PriorityQueue<int[]> ranges = new PriorityQueue<>(
+                    (a, b) -> Float.compare(score(b[2]), score(a[2])));
+            ranges.add(new int[] {lo, hi, argMax(lo, hi)});
+            List<Suggestion> results = new ArrayList<>(k);
+            Set<Integer> seenPhrases = new HashSet<>();
+            while (!ranges.isEmpty() && results.size() < k) {
+                int[] range = ranges.poll();
+                int best = range[2];
+                Phrase phrase = phrases[keyPhrase[best]];
+                if (seenPhrases.add(keyPhrase[best])) {
+                    results.add(new Suggestion(phrase.display, phrase.type, phrase.eventId));
+                }
+                if (range[0] < best) {
+                    ranges.add(new int[] {range[0], best, argMax(range[0], best)});
+                }
+                if (best + 1 < range[1]) {
+                    ranges.add(new int[] {best + 1, range[1], argMax(best + 1, range[1])});
+                }
+            }
+            return results;
+        }
+        
+        /**
+         * First key whose suffix, truncated to the prefix length, is >= prefix
+         * (or > prefix when {@code strict}).
+         */
+        private int lowerBound(String prefix, boolean strict) {
+            int lo = 0;
+            int hi = size;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                int cmp = comparePrefix(mid, prefix);
+                if (cmp < 0 || (strict && cmp == 0)) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
+                }
+            }
+            return lo;
+        }
+        
+        private int comparePrefix(int key, String prefix) {
+            String text = phrases[keyPhrase[key]].normalized;
+            int offset = keyOffset[key];
+            int length = Math.min(prefix.length(), text.length() - offset);
+            for (int i = 0; i < length; i++) {
+                int diff = text.charAt(offset + i) - prefix.charAt(i);
+                if (diff != 0) {
+                    return diff;
+                }
+            }
+            return length < prefix.length() ? -1 : 0;
+        }
+        
+        private int argMax(int from, int to) {
+            int best = from;
+            for (int l = from + size, r = to + size; l < r; l >>= 1, r >>= 1) {
+                if ((l & 1) == 1) {
+                    best = better(best, tree[l++]);
+                }
+                if ((r & 1) == 1) {
+                    best = better(best, tree[--r]);
+                }
+            }
+            return best;
+        }
+        
+        private int better(int a, int b) {
+            return score(b) > score(a) ? b : a;
+        }
+        
+        private float score(int key) {
+            return phrases[keyPhrase[key]].score;
+        }
+        
+        private static int compareSuffixes(Phrase[] phrases, int p1, int o1, int p2, int o2) {
+            String a = phrases[p1].normalized;
+            String b = phrases[p2].normalized;
+            int length = Math.min(a.length() - o1, b.length() - o2);
+            for (int i = 0; i < length; i++) {
+                int diff = a.charAt(o1 + i) - b.charAt(o2 + i);
+                if (diff != 0) {
+                    return diff;
+                }
+            }
+            return (a.length() - o1) - (b.length() - o2);
+        }
+    }
+} 
\ No newline at end of file
@@ -0,0 +1,218 @@
+package com.eventregistration.search;
+
+import com.eventregistration.dto.EventSummary;
+import com.eventregistration.model.Event;
+import com.eventregistration.repository.EventRepository;
+import com.eventregistration.service.EventChangedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Published events ordered by (startDateTime, id) in a concurrent skip list.
+ * Range, "next N" and "happening now" lookups are lock-free sub-map walks.
+ *
+ * Only events that have not ended are kept: a scheduled sweep drops the rest,
+ * so queries about the past have to go to the database.
+ *
+ * "Happening now" scans only the starts within the longest indexed event
+ * duration before now, then filters on end time. Durations are counted in a
+ * sorted multiset, so the bound shrinks again when the longest event goes.
+ */
+@Component
+public class EventTimeIndex {
+    
+    private static final Logger logger = LoggerFactory.getLogger(EventTimeIndex.class);
+    
+    private static final int BOOTSTRAP_BATCH_SIZE = 1000;
+    
+    @Autowired
+    private EventRepository eventRepository;
+    
+    private final ConcurrentSkipListMap<TimeKey, EventSummary> byStart = new ConcurrentSkipListMap<>();
+    
+    private final Map<Long, TimeKey> keysById = new ConcurrentHashMap<>();
+    
+    // Duration -> number of indexed events with it; guarded by the writers' lock
+    private final TreeMap<Duration, Integer> durations = new TreeMap<>();
+    
+    private volatile Duration maxDuration = Duration.ZERO;
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        int page = 0;
+        Page<EventSummary> batch;
+        do {
+            batch = eventRepository.findSummariesByStatus(Event.EventStatus.PUBLISHED,
+                    PageRequest.of(page++, BOOTSTRAP_BATCH_SIZE, Sort.by("id")));
+            LocalDateTime now = LocalDateTime.now();
+            batch.forEach(event -> {
+                if (!hasEnded(event, now)) {
+                    put(event);
+                }
+            });
+        } while (batch.hasNext());
+        logger.info("Indexed {} published events by start time in {} ms",
+                keysById.size(), System.currentTimeMillis() - start);
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEventChanged(EventChangedEvent change) {
+        Event event = change.getEvent();
+        EventSummary summary = EventSummary.from(event);
+        if (event.getStatus() == Event.EventStatus.PUBLISHED && !hasEnded(summary, LocalDateTime.now())) {
+            put(summary);
+        } else {
+            remove(event.getId());
+        }
+    }
+    
+    @Scheduled(fixedDelayString = "${events.time-index.sweep-interval-ms:60000}")
+    public void evictEnded() {
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> ended = new ArrayList<>();
+        // Anything that has ended also started before now
+        for (EventSummary event : byStart.headMap(TimeKey.last(now), true).values()) {
+            if (hasEnded(event, now)) {
+                ended.add(event.id());
+            }
+        }
+        ended.forEach(this::remove);
+        if (!ended.isEmpty()) {
+            logger.debug("Evicted {} ended events from the time index", ended.size());
+        }
+    }
+    
+    /**
+     * Events starting within [from, to], in start order. Complete only for
+     * {@code from} at or after now, since ended events are evicted.
+     */
+    public List<EventSummary> findStartingBetween(LocalDateTime from, LocalDateTime to, int limit) {
+        if (to.isBefore(from)) {
+            return List.of();
+        }
+        return take(byStart.subMap(TimeKey.first(from), true, TimeKey.last(to), true), limit);
+    }
+    
+    /**
+     * Events starting at or after {@code from}, or strictly after the cursor
+     * position (afterStart, afterId) when one is given.
+     */
+    public List<EventSummary> findStartingAfter(LocalDateTime from, LocalDateTime afterStart, Long afterId, int limit) {
+        TimeKey lower = TimeKey.first(from);
+        if (afterStart != null) {
+            TimeKey cursor = new TimeKey(afterStart, afterId);
+            if (cursor.compareTo(lower) >= 0) {
+                return take(byStart.tailMap(cursor, false), limit);
+            }
+        }
+        return take(byStart.tailMap(lower, true), limit);
+    }
+    
+    public List<EventSummary> findHappeningAt(LocalDateTime instant, int limit) {
+        List<EventSummary> result = new ArrayList<>();
+        ConcurrentNavigableMap<TimeKey, EventSummary> candidates = byStart.subMap(
+                TimeKey.first(instant.minus(maxDuration)), true, TimeKey.last(instant), true);
+        for (EventSummary event : candidates.values()) {
+            if (event.endDateTime() != null && event.endDateTime().isAfter(instant)) {
+                result.add(event);
+                if (result.size() >= limit) {
+                    break;
+                }
+            }
+        }
+        return result;
+    }
+    
+    private static List<EventSummary> take(ConcurrentNavigableMap<TimeKey, EventSummary> range, int limit) {
+        List<EventSummary> result = new ArrayList<>(Math.min(limit, 64));
+        for (EventSummary event : range.values()) {
+            if (result.size() >= limit) {
+                break;
+            }
+            result.add(event);
+        }
+        return result;
+    }
+    
+    // Writers are rare; serializing them keeps the two maps consistent while readers stay lock-free
+    private synchronized void put(EventSummary event) {
+        if (event.startDateTime() == null) {
+            return;
+        }
+        TimeKey key = new TimeKey(event.startDateTime(), event.id());
+        TimeKey previous = keysById.put(event.id(), key);
+        if (previous != null) {
+            uncount(byStart.remove(previous));
+        }
+        byStart.put(key, event);
+        count(event);
+    }
+    
+    private synchronized void remove(Long eventId) {
+        TimeKey previous = keysById.remove(eventId);
+        if (previous != null) {
+            uncount(byStart.remove(previous));
+        }
+    }
+    
+    private void count(EventSummary event) {
+        if (event.endDateTime() != null) {
+            durations.merge(duration(event), 1, Integer::sum);
+            maxDuration = durations.lastKey();
+        }
+    }
+    
+    private void uncount(EventSummary event) {
+        if (event != null && event.endDateTime() != null) {
+            durations.computeIfPresent(duration(event), (duration, count) -> count > 1 ? count - 1 : null);
+            maxDuration = durations.isEmpty() ? Duration.ZERO : durations.lastKey();
+        }
+    }
+    
+    private static Duration duration(EventSummary event) {
+        return Duration.between(event.startDateTime(), event.endDateTime());
+    }
+    
+    // Events without an end time count as over once they have started
+    private static boolean hasEnded(EventSummary event, LocalDateTime now) {
+        LocalDateTime end = event.endDateTime() != null ? event.endDateTime() : event.startDateTime();
+        return end != null && !end.isAfter(now);
+    }
+    
+    private record TimeKey(LocalDateTime start, long id) implements Comparable<TimeKey> {
+        
+        static TimeKey first(LocalDateTime start) {
+            return new TimeKey(start, Long.MIN_VALUE);
+        }
+        
+        static TimeKey last(LocalDateTime start) {
+            return new TimeKey(start, Long.MAX_VALUE);
+        }
+        
+        @Override
+        public int compareTo(TimeKey other) {
+            int byTime = start.compareTo(other.start);
+            return byTime != 0 ? byTime : Long.compare(id, other.id);
+        }
+    }
+} 
\ No newline at end of file
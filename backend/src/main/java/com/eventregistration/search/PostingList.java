@@ -0,0 +1,121 @@
+package com.eventregistration.search;
+
+/**
+ * Append-only posting list of (document ordinal, term frequency) pairs stored as
+ * delta-encoded varints. Ordinals are handed out monotonically by the index, so
+ * appends always land at the end and the deltas stay small.
+ */
+final class PostingList {
+    
+    @FunctionalInterface
+    interface PostingConsumer {
+        void accept(int ordinal, int termFrequency);
+    }
+    
+    private byte[] data = new byte[8];
+    
+    private int length;
+    
+    private int docCount;
+    
+    // Documents not yet tombstoned by the index; what idf is computed from
+    private int liveDocCount;
+    
+    private int lastOrdinal = -1;
+    
+    void append(int ordinal, int termFrequency) {
+        if (ordinal <= lastOrdinal) {
+            throw new IllegalArgumentException("Ordinals must be appended in increasing order");
+        }
+        ensureCapacity(length + 10);
+        writeVarInt(ordinal - lastOrdinal);
+        writeVarInt(termFrequency);
+        lastOrdinal = ordinal;
+        docCount++;
+        liveDocCount++;
+    }
+    
+    int docCount() {
+        return docCount;
+    }
+    
+    int liveDocCount() {
+        return liveDocCount;
+    }
+    
+    /**
+     * Called once for each document in this list that the index tombstones.
+     */
+    void markDeleted() {
+        liveDocCount--;
+    }
+    
+    /**
+     * Rewrites the list in place with ordinals renumbered through {@code remap},
+     * dropping those mapped to -1. The remap must preserve order.
+     */
+    void compact(int[] remap) {
+        byte[] previous = data;
+        int previousLength = length;
+        data = new byte[8];
+        length = 0;
+        docCount = 0;
+        liveDocCount = 0;
+        lastOrdinal = -1;
+        forEach(previous, previousLength, (ordinal, termFrequency) -> {
+            if (remap[ordinal] >= 0) {
+                append(remap[ordinal], termFrequency);
+            }
+        });
+    }
+    
+    int sizeInBytes() {
+        return data.length;
+    }
+    
+    void forEach(PostingConsumer consumer) {
+        forEach(data, length, consumer);
+    }
+    
+    private static void forEach(byte[] data, int length, PostingConsumer consumer) {
+        int position = 0;
+        int ordinal = -1;
+        while (position < length) {
+            int delta = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = data[position++];
+                delta |= (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            
+            int termFrequency = 0;
+            shift = 0;
+            do {
+                b = data[position++];
+                termFrequency |= (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            
+            ordinal += delta;
+            consumer.accept(ordinal, termFrequency);
+        }
+    }
+    
+    private void writeVarInt(int value) {
+        while ((value & ~0x7F) != 0) {
+            data[length++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        data[length++] = (byte) value;
+    }
+    
+    private void ensureCapacity(int required) {
+        if (required > data.length) {
+            byte[] grown = new byte[Math.max(required, data.length + (data.length >> 1))];
+            System.arraycopy(data, 0, grown, 0, length);
+            data = grown;
+        }
+    }
+} 
\ No newline at end of file
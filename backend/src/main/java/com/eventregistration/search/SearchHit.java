@@ -0,0 +1,21 @@
+package com.eventregistration.search;
+
+public class SearchHit {
+    
+    private final long eventId;
+    
+    private final float score;
+    
+    public SearchHit(long eventId, float score) {
+        this.eventId = eventId;
+        this.score = score;
+    }
+    
+    public long getEventId() {
+        return eventId;
+    }
+    
+    public float getScore() {
+        return score;
+    }
+} 
\ No newline at end of file
@@ -0,0 +1,29 @@
+package com.eventregistration.search;
+
+import java.util.List;
+
+public class SearchResult {
+    
+    private static final SearchResult EMPTY = new SearchResult(List.of(), 0);
+    
+    private final List<SearchHit> hits;
+    
+    private final int totalHits;
+    
+    public SearchResult(List<SearchHit> hits, int totalHits) {
+        this.hits = hits;
+        this.totalHits = totalHits;
+    }
+    
+    public static SearchResult empty() {
+        return EMPTY;
+    }
+    
+    public List<SearchHit> getHits() {
+        return hits;
+    }
+    
+    public int getTotalHits() {
+        return totalHits;
+    }
+} 
\ No newline at end of file
@@ -0,0 +1,31 @@
+package com.eventregistration.search;
+
+public class Suggestion {
+    
+    private final String text;
+    
+    private final String type;
+    
+    private final Long eventId;
+    
+    public Suggestion(String text, String type, Long eventId) {
+        this.text = text;
+        this.type = type;
+        this.eventId = eventId;
+    }
+    
+    public String getText() {
+        return text;
+    }
+    
+    public String getType() {
+        return type;
+    }
+    
+    /**
+     * Best-ranked event for title suggestions; null for locations and categories.
+     */
+    public Long getEventId() {
+        return eventId;
+    }
+} 
\ No newline at end of file
@@ -0,0 +1,52 @@
+package com.eventregistration.security;
+
+import com.eventregistration.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * In-memory view of each user's current account version. A token is only
+ * accepted while its "ver" claim matches, so bumping the version on the user
+ * row (disable, password change) revokes every token issued before it.
+ * Disabled or unknown users are cached as {@link #REVOKED}.
+ */
+@Component
+public class AccountVersionCache {
+    
+    static final long REVOKED = -1L;
+    
+    private final ConcurrentMap<Long, Long> versions = new ConcurrentHashMap<>();
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    public boolean isCurrent(Long userId, long tokenVersion) {
+        Long current = versions.get(userId);
+        if (current == null) {
+            current = userRepository.findActiveAccountVersion(userId).orElse(REVOKED);
+            versions.putIfAbsent(userId, current);
+        }
+        return current != REVOKED && current == tokenVersion;
+    }
+    
+    /**
+     * Drops the cached version now and again once the surrounding transaction
+     * commits, so a concurrent reader cannot re-cache the pre-commit value.
+     */
+    public void evict(Long userId) {
+        versions.remove(userId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    versions.remove(userId);
+                }
+            });
+        }
+    }
+}
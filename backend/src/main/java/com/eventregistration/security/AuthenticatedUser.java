@@ -0,0 +1,86 @@
+package com.eventregistration.security;
+
+import com.eventregistration.model.User;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Principal built straight from verified JWT claims, so authenticated requests
+ * never have to load the {@link User} entity just to know who is calling.
+ */
+public class AuthenticatedUser implements UserDetails {
+    
+    private final Long id;
+    
+    private final String username;
+    
+    private final User.Role role;
+    
+    private final long accountVersion;
+    
+    private final List<GrantedAuthority> authorities;
+    
+    public AuthenticatedUser(Long id, String username, User.Role role, long accountVersion) {
+        this.id = id;
+        this.username = username;
+        this.role = role;
+        this.accountVersion = accountVersion;
+        this.authorities = List.of(new SimpleGrantedAuthority("ROLE_" + role.name()));
+    }
+    
+    public Long getId() {
+        return id;
+    }
+    
+    public User.Role getRole() {
+        return role;
+    }
+    
+    public long getAccountVersion() {
+        return accountVersion;
+    }
+    
+    public boolean isAdmin() {
+        return role == User.Role.ADMIN;
+    }
+    
+    // UserDetails implementation
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return authorities;
+    }
+    
+    @Override
+    public String getPassword() {
+        return null;
+    }
+    
+    @Override
+    public String getUsername() {
+        return username;
+    }
+    
+    @Override
+    public boolean isAccountNonExpired() {
+        return true;
+    }
+    
+    @Override
+    public boolean isAccountNonLocked() {
+        return true;
+    }
+    
+    @Override
+    public boolean isCredentialsNonExpired() {
+        return true;
+    }
+    
+    @Override
+    public boolean isEnabled() {
+        return true;
+    }
+}
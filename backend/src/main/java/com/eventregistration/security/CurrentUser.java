@@ -0,0 +1,22 @@
+package com.eventregistration.security;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Injects the {@link AuthenticatedUser} the JWT filter placed in the security
+ * context into a controller method parameter.
+ */
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface CurrentUser {
+    
+    /**
+     * When false, anonymous requests resolve to null instead of being rejected.
+     */
+    boolean required() default true;
+} 
\ No newline at end of file
@@ -1,6 +1,7 @@
 package com.eventregistration.security;
 
 import com.eventregistration.service.JwtService;
+import com.eventregistration.stats.StageTimer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -8,8 +9,6 @@ import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
@@ -24,25 +23,35 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private JwtService jwtService;
     
     @Autowired
-    private UserDetailsService userDetailsService;
+    private AccountVersionCache accountVersionCache;
+    
+    @Autowired
+    private StageTimer stageTimer;
     
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, 
                                   FilterChain filterChain) throws ServletException, IOException {
-        try {
-            String jwt = parseJwt(request);
-            if (jwt != null && jwtService.validateJwtToken(jwt)) {
-                String username = jwtService.getUserNameFromJwtToken(jwt);
-                
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-                UsernamePasswordAuthenticationToken authentication = 
-                    new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
-                authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+        String jwt = parseJwt(request);
+        if (jwt != null) {
+            StageTimer.Laps laps = stageTimer.start("auth.jwt");
+            try {
+                AuthenticatedUser principal = jwtService.authenticate(jwt);
+                laps.lap("verify");
                 
-                SecurityContextHolder.getContext().setAuthentication(authentication);
+                if (principal != null && 
+                    accountVersionCache.isCurrent(principal.getId(), principal.getAccountVersion())) {
+                    UsernamePasswordAuthenticationToken authentication = 
+                        new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities());
+                    authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                    
+                    SecurityContextHolder.getContext().setAuthentication(authentication);
+                }
+                laps.lap("account-version");
+            } catch (Exception e) {
+                logger.error("Cannot set user authentication: {}", e);
+            } finally {
+                laps.stop();
             }
-        } catch (Exception e) {
-            logger.error("Cannot set user authentication: {}", e);
         }
         
         filterChain.doFilter(request, response);
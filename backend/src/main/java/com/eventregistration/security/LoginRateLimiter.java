@@ -0,0 +1,94 @@
+package com.eventregistration.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token-bucket limits on login attempts per client IP and per username, checked
+ * before any password hashing happens. Buckets live in a ConcurrentHashMap (whose
+ * bins are locked independently) and each bucket synchronizes only on itself,
+ * so unrelated callers never contend.
+ */
+@Component
+public class LoginRateLimiter {
+    
+    private static final long IDLE_BUCKET_TTL_NANOS = TimeUnit.MINUTES.toNanos(10);
+    
+    @Value("${auth.login-rate-limit.ip.capacity:20}")
+    private int ipCapacity;
+    
+    @Value("${auth.login-rate-limit.ip.refill-per-minute:20}")
+    private int ipRefillPerMinute;
+    
+    @Value("${auth.login-rate-limit.username.capacity:5}")
+    private int usernameCapacity;
+    
+    @Value("${auth.login-rate-limit.username.refill-per-minute:5}")
+    private int usernameRefillPerMinute;
+    
+    private final ConcurrentMap<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+    
+    /**
+     * Consumes one attempt for both the IP and the username, throwing
+     * {@link LoginThrottledException} when either is exhausted.
+     */
+    public void checkLoginAttempt(String clientIp, String username) {
+        long now = System.nanoTime();
+        if (clientIp != null) {
+            acquire("ip:" + clientIp, ipCapacity, ipRefillPerMinute, now);
+        }
+        if (username != null) {
+            acquire("user:" + username.toLowerCase(), usernameCapacity, usernameRefillPerMinute, now);
+        }
+    }
+    
+    private void acquire(String key, int capacity, int refillPerMinute, long now) {
+        TokenBucket bucket = buckets.computeIfAbsent(key, k -> new TokenBucket(capacity, now));
+        long waitNanos = bucket.tryAcquire(capacity, refillPerMinute, now);
+        if (waitNanos > 0) {
+            throw new LoginThrottledException("Too many login attempts, please retry later",
+                    Math.max(1, waitNanos / 1_000_000_000L));
+        }
+    }
+    
+    @Scheduled(fixedDelay = 60000)
+    public void evictIdleBuckets() {
+        long now = System.nanoTime();
+        buckets.values().removeIf(bucket -> bucket.isIdle(now, IDLE_BUCKET_TTL_NANOS));
+    }
+    
+    private static final class TokenBucket {
+        
+        private double tokens;
+        
+        private long lastRefillNanos;
+        
+        private TokenBucket(int capacity, long now) {
+            this.tokens = capacity;
+            this.lastRefillNanos = now;
+        }
+        
+        /**
+         * Returns 0 when a token was taken, otherwise the nanos until one is available.
+         */
+        synchronized long tryAcquire(int capacity, int refillPerMinute, long now) {
+            double refillPerNano = refillPerMinute / 60_000_000_000.0;
+            tokens = Math.min(capacity, tokens + (now - lastRefillNanos) * refillPerNano);
+            lastRefillNanos = now;
+            if (tokens >= 1.0) {
+                tokens -= 1.0;
+                return 0;
+            }
+            return (long) Math.ceil((1.0 - tokens) / refillPerNano);
+        }
+        
+        synchronized boolean isIdle(long now, long ttlNanos) {
+            return now - lastRefillNanos > ttlNanos;
+        }
+    }
+} 
@@ -0,0 +1,19 @@
+package com.eventregistration.security;
+
+/**
+ * Raised when a login or password hash is refused up front, either because the
+ * caller exhausted its rate limit or because the hashing pool is saturated.
+ */
+public class LoginThrottledException extends RuntimeException {
+    
+    private final long retryAfterSeconds;
+    
+    public LoginThrottledException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+    
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+} 
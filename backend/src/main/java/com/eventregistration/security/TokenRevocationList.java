@@ -0,0 +1,199 @@
+package com.eventregistration.security;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * In-memory revocation state for JWTs, consulted on every authenticated request
+ * instead of a database lookup.
+ *
+ * Revoked token ids are stored as 64-bit hashes in buckets keyed by the minute
+ * the token expires, so a whole bucket is dropped once its tokens could no longer
+ * be presented anyway. Refresh-token sessions are tracked as one entry per
+ * session holding the latest rotation generation: presenting an older
+ * generation means the token was replayed, and the whole session is revoked.
+ */
+@Component
+public class TokenRevocationList {
+    
+    private static final long BUCKET_WIDTH_MS = 60_000L;
+    
+    private final ConcurrentMap<Long, LongSet> revokedByExpiryBucket = new ConcurrentHashMap<>();
+    
+    private final ConcurrentMap<String, SessionState> sessions = new ConcurrentHashMap<>();
+    
+    public void revokeToken(String jti, long expiresAtMillis) {
+        if (jti == null || expiresAtMillis <= System.currentTimeMillis()) {
+            return;
+        }
+        revokedByExpiryBucket
+                .computeIfAbsent(expiresAtMillis / BUCKET_WIDTH_MS, bucket -> new LongSet())
+                .add(hash(jti));
+    }
+    
+    public boolean isTokenRevoked(String jti, long expiresAtMillis) {
+        if (jti == null) {
+            return false;
+        }
+        LongSet bucket = revokedByExpiryBucket.get(expiresAtMillis / BUCKET_WIDTH_MS);
+        return bucket != null && bucket.contains(hash(jti));
+    }
+    
+    /**
+     * Registers a freshly issued session at generation 0.
+     */
+    public void startSession(String sessionId, long expiresAtMillis) {
+        sessions.put(sessionId, new SessionState(0, expiresAtMillis, false));
+    }
+    
+    /**
+     * Advances the session to the next generation if {@code presentedGeneration}
+     * is the current one. Returns the new generation, or -1 when the session is
+     * revoked or the presented refresh token was already rotated (replay), in
+     * which case the session is revoked as well.
+     */
+    public long rotateSession(String sessionId, long presentedGeneration, long newExpiresAtMillis) {
+        long[] result = {-1};
+        sessions.compute(sessionId, (id, state) -> {
+            if (state == null) {
+                // Unknown after a restart: trust the signed token and resume tracking
+                result[0] = presentedGeneration + 1;
+                return new SessionState(result[0], newExpiresAtMillis, false);
+            }
+            if (state.revoked) {
+                return state;
+            }
+            if (state.generation != presentedGeneration) {
+                return new SessionState(state.generation, state.expiresAtMillis, true);
+            }
+            result[0] = presentedGeneration + 1;
+            return new SessionState(result[0], newExpiresAtMillis, false);
+        });
+        return result[0];
+    }
+    
+    public void revokeSession(String sessionId, long expiresAtMillis) {
+        if (sessionId == null) {
+            return;
+        }
+        sessions.compute(sessionId, (id, state) -> new SessionState(
+                state != null ? state.generation : 0,
+                state != null ? Math.max(state.expiresAtMillis, expiresAtMillis) : expiresAtMillis,
+                true));
+    }
+    
+    public boolean isSessionRevoked(String sessionId) {
+        if (sessionId == null) {
+            return false;
+        }
+        SessionState state = sessions.get(sessionId);
+        return state != null && state.revoked;
+    }
+    
+    @Scheduled(fixedDelay = 60000)
+    public void purgeExpired() {
+        long now = System.currentTimeMillis();
+        long currentBucket = now / BUCKET_WIDTH_MS;
+        revokedByExpiryBucket.keySet().removeIf(bucket -> bucket < currentBucket);
+        sessions.values().removeIf(state -> state.expiresAtMillis <= now);
+    }
+    
+    private static long hash(String jti) {
+        try {
+            UUID uuid = UUID.fromString(jti);
+            return uuid.getMostSignificantBits() ^ uuid.getLeastSignificantBits();
+        } catch (IllegalArgumentException e) {
+            // FNV-1a 64 for non-UUID ids
+            long h = 0xcbf29ce484222325L;
+            for (byte b : jti.getBytes(StandardCharsets.UTF_8)) {
+                h ^= b;
+                h *= 0x100000001b3L;
+            }
+            return h;
+        }
+    }
+    
+    private static final class SessionState {
+        
+        private final long generation;
+        
+        private final long expiresAtMillis;
+        
+        private final boolean revoked;
+        
+        private SessionState(long generation, long expiresAtMillis, boolean revoked) {
+            this.generation = generation;
+            this.expiresAtMillis = expiresAtMillis;
+            this.revoked = revoked;
+        }
+    }
+    
+    /**
+     * Open-addressing set of primitive longs; 0 marks an empty slot and is stored
+     * out of line. Writes are rare (logout, replay detection) so a monitor suffices.
+     */
+    private static final class LongSet {
+        
+        private long[] table = new long[16];
+        
+        private int size;
+        
+        private boolean containsZero;
+        
+        synchronized void add(long value) {
+            if (value == 0) {
+                containsZero = true;
+                return;
+            }
+            if ((size + 1) * 2 > table.length) {
+                resize();
+            }
+            if (insert(table, value)) {
+                size++;
+            }
+        }
+        
+        synchronized boolean contains(long value) {
+            if (value == 0) {
+                return containsZero;
+            }
+            int mask = table.length - 1;
+            for (int i = mix(value) & mask; table[i] != 0; i = (i + 1) & mask) {
+                if (table[i] == value) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        
+        private void resize() {
+            long[] old = table;
+            table = new long[old.length * 2];
+            Arrays.stream(old).filter(v -> v != 0).forEach(v -> insert(table, v));
+        }
+        
+        private static boolean insert(long[] table, long value) {
+            int mask = table.length - 1;
+            int i = mix(value) & mask;
+            while (table[i] != 0) {
+                if (table[i] == value) {
+                    return false;
+                }
+                i = (i + 1) & mask;
+            }
+            table[i] = value;
+            return true;
+        }
+        
+        private static int mix(long value) {
+            long h = value * 0x9E3779B97F4A7C15L;
+            return (int) (h ^ (h >>> 32));
+        }
+    }
+} 
\ No newline at end of file
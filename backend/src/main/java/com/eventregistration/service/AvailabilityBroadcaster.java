@@ -0,0 +1,149 @@
+package com.eventregistration.service;
+
+import com.eventregistration.dto.EventAvailability;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pushes ticket availability to clients over Server-Sent Events.
+ *
+ * Subscribers are async-servlet {@link SseEmitter}s, so an idle subscriber holds
+ * a socket but no thread. Changes are coalesced per event: only the latest
+ * availability since the previous flush is kept, and flushes run at a fixed
+ * rate, which caps each event at one update per flush interval however fast
+ * tickets sell. Sends run on a dedicated pool through {@link SseSender}, never
+ * on the committing request thread, and a stalled client is dropped after
+ * {@code send-timeout-ms} instead of holding up the other subscribers.
+ */
+@Component
+public class AvailabilityBroadcaster {
+    
+    static final String EVENT_NAME = "availability";
+    
+    @Value("${events.availability.max-subscribers:50000}")
+    private int maxSubscribers;
+    
+    @Value("${events.availability.subscription-timeout-ms:1800000}")
+    private long subscriptionTimeoutMs;
+    
+    private final Map<Long, Set<SseEmitter>> subscribers = new ConcurrentHashMap<>();
+    
+    private final Map<Long, EventAvailability> pending = new ConcurrentHashMap<>();
+    
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    
+    private final SseSender sender;
+    
+    public AvailabilityBroadcaster(@Value("${events.availability.fan-out-threads:16}") int fanOutThreads,
+                                   @Value("${events.availability.send-timeout-ms:5000}") long sendTimeoutMs) {
+        this.sender = new SseSender("availability-fan-out", fanOutThreads, sendTimeoutMs);
+    }
+    
+    /**
+     * Registers a subscriber and sends it the current availability right away.
+     * Returns null when the node is at its subscriber limit.
+     */
+    public SseEmitter subscribe(Long eventId, EventAvailability current) {
+        if (subscriberCount.incrementAndGet() > maxSubscribers) {
+            subscriberCount.decrementAndGet();
+            return null;
+        }
+        
+        SseEmitter emitter = new SseEmitter(subscriptionTimeoutMs);
+        // compute/computeIfPresent keep add and remove-if-empty atomic per event
+        subscribers.compute(eventId, (id, eventSubscribers) -> {
+            Set<SseEmitter> updated = eventSubscribers != null ? eventSubscribers : ConcurrentHashMap.newKeySet();
+            updated.add(emitter);
+            return updated;
+        });
+        Runnable unsubscribe = () -> unsubscribe(eventId, emitter);
+        emitter.onCompletion(unsubscribe);
+        emitter.onTimeout(unsubscribe);
+        emitter.onError(error -> unsubscribe.run());
+        
+        // Buffered by the emitter until the response starts, so this never blocks
+        try {
+            emitter.send(availabilityEvent(current));
+        } catch (IOException | IllegalStateException e) {
+            unsubscribe(eventId, emitter);
+        }
+        return emitter;
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEventChanged(EventChangedEvent change) {
+        Long eventId = change.getEvent().getId();
+        if (subscribers.containsKey(eventId)) {
+            pending.put(eventId, EventAvailability.from(change.getEvent()));
+        }
+    }
+    
+    @Scheduled(fixedRateString = "${events.availability.flush-interval-ms:250}")
+    public void flush() {
+        Iterator<Map.Entry<Long, EventAvailability>> changes = pending.entrySet().iterator();
+        while (changes.hasNext()) {
+            Map.Entry<Long, EventAvailability> change = changes.next();
+            changes.remove();
+            Long eventId = change.getKey();
+            EventAvailability availability = change.getValue();
+            Set<SseEmitter> eventSubscribers = subscribers.get(eventId);
+            if (eventSubscribers != null) {
+                eventSubscribers.forEach(emitter -> sender.send(emitter,
+                        () -> availabilityEvent(availability), () -> unsubscribe(eventId, emitter)));
+            }
+        }
+    }
+    
+    /**
+     * Periodic comment line so proxies keep idle streams open and dead clients
+     * are detected by the failed write.
+     */
+    @Scheduled(fixedRateString = "${events.availability.heartbeat-interval-ms:25000}")
+    public void heartbeat() {
+        subscribers.forEach((eventId, eventSubscribers) -> eventSubscribers.forEach(emitter ->
+                sender.sendIfIdle(emitter, () -> SseEmitter.event().comment("keep-alive"),
+                        () -> unsubscribe(eventId, emitter))));
+    }
+    
+    @Scheduled(fixedRateString = "${events.availability.stall-check-interval-ms:1000}")
+    public void dropStalledSubscribers() {
+        sender.dropStalled();
+    }
+    
+    public int getSubscriberCount() {
+        return subscriberCount.get();
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        sender.shutdown();
+        subscribers.values().forEach(eventSubscribers -> eventSubscribers.forEach(SseEmitter::complete));
+    }
+    
+    private static SseEmitter.SseEventBuilder availabilityEvent(EventAvailability availability) {
+        return SseEmitter.event()
+                .name(EVENT_NAME)
+                .data(availability, MediaType.APPLICATION_JSON);
+    }
+    
+    private void unsubscribe(Long eventId, SseEmitter emitter) {
+        subscribers.computeIfPresent(eventId, (id, eventSubscribers) -> {
+            if (eventSubscribers.remove(emitter)) {
+                subscriberCount.decrementAndGet();
+            }
+            return eventSubscribers.isEmpty() ? null : eventSubscribers;
+        });
+    }
+} 
\ No newline at end of file
@@ -0,0 +1,193 @@
+package com.eventregistration.service;
+
+import com.eventregistration.repository.EventRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Comparator;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Short-TTL cache for the public event catalog lists. Each key has at most one
+ * loader in flight; concurrent readers of a missing or expired key wait for
+ * that loader instead of issuing their own query.
+ *
+ * Entries are dropped after commit whenever an {@link EventChangedEvent} can
+ * change list membership. Ticket counts inside a cached list may lag by up to
+ * the TTL; only sold-out transitions invalidate the available list eagerly.
+ *
+ * Keys come from public request parameters, so the cache is bounded: only the
+ * configured page sizes and categories that exist are cached, expired entries
+ * are swept on a timer, and past {@code max-entries} the entry closest to
+ * expiry is evicted.
+ */
+@Component
+public class EventCatalogCache {
+    
+    static final String AVAILABLE = "available";
+    
+    static final String CATEGORY_PREFIX = "category:";
+    
+    private static final char PAGE_SEPARATOR = '|';
+    
+    @Value("${events.catalog-cache.ttl-ms:30000}")
+    private long ttlMs;
+    
+    @Value("${events.catalog-cache.max-entries:256}")
+    private int maxEntries;
+    
+    @Value("${events.catalog-cache.cached-limits:10,20,50}")
+    private Set<Integer> cachedLimits;
+    
+    @Autowired
+    private EventRepository eventRepository;
+    
+    private final ConcurrentMap<String, CacheEntry> entries = new ConcurrentHashMap<>();
+    
+    // Categories with at least one event; other category names are never cached
+    private final Set<String> knownCategories = ConcurrentHashMap.newKeySet();
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadCategories() {
+        knownCategories.addAll(eventRepository.findDistinctCategories());
+    }
+    
+    public boolean isKnownCategory(String category) {
+        return category != null && knownCategories.contains(category);
+    }
+    
+    /**
+     * First page of a list at the given page size, cached only for the
+     * configured page sizes; any other size goes straight to the loader.
+     */
+    public <T> T getFirstPage(String list, int limit, Supplier<T> loader) {
+        if (!cachedLimits.contains(limit)) {
+            return loader.get();
+        }
+        return get(list + PAGE_SEPARATOR + limit, loader);
+    }
+    
+    @SuppressWarnings("unchecked")
+    <T> T get(String key, Supplier<T> loader) {
+        while (true) {
+            long now = System.currentTimeMillis();
+            CacheEntry existing = entries.get(key);
+            if (existing != null && !existing.isExpired(now)) {
+                try {
+                    return (T) existing.value.join();
+                } catch (CompletionException e) {
+                    // The owning loader failed and already removed the entry; retry
+                    continue;
+                }
+            }
+            
+            if (existing == null && !makeRoom(now)) {
+                return loader.get();
+            }
+            
+            CacheEntry fresh = new CacheEntry(now + ttlMs);
+            boolean owner = existing == null
+                    ? entries.putIfAbsent(key, fresh) == null
+                    : entries.replace(key, existing, fresh);
+            if (!owner) {
+                continue;
+            }
+            
+            try {
+                T value = loader.get();
+                fresh.value.complete(value);
+                return value;
+            } catch (RuntimeException e) {
+                entries.remove(key, fresh);
+                fresh.value.completeExceptionally(e);
+                throw e;
+            }
+        }
+    }
+    
+    /**
+     * Makes room for one more entry. Returns false when the cache is still full,
+     * in which case the caller loads without caching.
+     */
+    private boolean makeRoom(long now) {
+        if (entries.size() < maxEntries) {
+            return true;
+        }
+        purgeExpired(now);
+        if (entries.size() < maxEntries) {
+            return true;
+        }
+        entries.entrySet().stream()
+                .min(Comparator.comparingLong(entry -> entry.getValue().expiresAtMillis))
+                .ifPresent(oldest -> entries.remove(oldest.getKey(), oldest.getValue()));
+        return entries.size() < maxEntries;
+    }
+    
+    @Scheduled(fixedDelayString = "${events.catalog-cache.sweep-interval-ms:60000}")
+    public void purgeExpired() {
+        purgeExpired(System.currentTimeMillis());
+    }
+    
+    private void purgeExpired(long now) {
+        entries.values().removeIf(entry -> entry.isExpired(now));
+    }
+    
+    int size() {
+        return entries.size();
+    }
+    
+    /**
+     * Drops every cached page of the given list.
+     */
+    public void invalidate(String list) {
+        String pagePrefix = list + PAGE_SEPARATOR;
+        entries.keySet().removeIf(key -> key.equals(list) || key.startsWith(pagePrefix));
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEventChanged(EventChangedEvent change) {
+        if (change.isInventoryChange()) {
+            if (change.isPublished() && change.isSoldOutBoundaryCrossed()) {
+                invalidate(AVAILABLE);
+            }
+            return;
+        }
+        
+        if (change.wasPublished() || change.isPublished()) {
+            invalidate(AVAILABLE);
+        }
+        // Category lists are not filtered by status
+        if (change.getPreviousCategory() != null) {
+            invalidate(CATEGORY_PREFIX + change.getPreviousCategory());
+        }
+        if (change.getEvent().getCategory() != null) {
+            knownCategories.add(change.getEvent().getCategory());
+            invalidate(CATEGORY_PREFIX + change.getEvent().getCategory());
+        }
+    }
+    
+    private static final class CacheEntry {
+        
+        private final CompletableFuture<Object> value = new CompletableFuture<>();
+        
+        private final long expiresAtMillis;
+        
+        private CacheEntry(long expiresAtMillis) {
+            this.expiresAtMillis = expiresAtMillis;
+        }
+        
+        private boolean isExpired(long now) {
+            return now >= expiresAtMillis;
+        }
+    }
+} 
\ No newline at end of file
@@ -0,0 +1,83 @@
+package com.eventregistration.service;
+
+import com.eventregistration.model.Event;
+
+import java.time.LocalDateTime;
+
+/**
+ * Published by {@link EventService} after every write to an event. Listeners that
+ * keep derived read models (caches, indexes, counters) react to it once the
+ * transaction commits, and use the previous values to invalidate precisely.
+ */
+public class EventChangedEvent {
+    
+    public enum ChangeType {
+        CREATED, UPDATED, PUBLISHED, CANCELLED, TICKET_RESERVED, TICKET_RELEASED
+    }
+    
+    private final Event event;
+    
+    private final ChangeType changeType;
+    
+    private final Event.EventStatus previousStatus;
+    
+    private final String previousCategory;
+    
+    private final int previousAvailableTickets;
+    
+    private final LocalDateTime previousStartDateTime;
+    
+    public EventChangedEvent(Event event, ChangeType changeType, Event.EventStatus previousStatus,
+                             String previousCategory, int previousAvailableTickets,
+                             LocalDateTime previousStartDateTime) {
+        this.event = event;
+        this.changeType = changeType;
+        this.previousStatus = previousStatus;
+        this.previousCategory = previousCategory;
+        this.previousAvailableTickets = previousAvailableTickets;
+        this.previousStartDateTime = previousStartDateTime;
+    }
+    
+    public Event getEvent() {
+        return event;
+    }
+    
+    public ChangeType getChangeType() {
+        return changeType;
+    }
+    
+    public Event.EventStatus getPreviousStatus() {
+        return previousStatus;
+    }
+    
+    public String getPreviousCategory() {
+        return previousCategory;
+    }
+    
+    public int getPreviousAvailableTickets() {
+        return previousAvailableTickets;
+    }
+    
+    public LocalDateTime getPreviousStartDateTime() {
+        return previousStartDateTime;
+    }
+    
+    public boolean isInventoryChange() {
+        return changeType == ChangeType.TICKET_RESERVED || changeType == ChangeType.TICKET_RELEASED;
+    }
+    
+    public boolean wasPublished() {
+        return previousStatus == Event.EventStatus.PUBLISHED;
+    }
+    
+    public boolean isPublished() {
+        return event.getStatus() == Event.EventStatus.PUBLISHED;
+    }
+    
+    /**
+     * True when the event went from having tickets to sold out, or back.
+     */
+    public boolean isSoldOutBoundaryCrossed() {
+        return (previousAvailableTickets > 0) != (event.getAvailableTickets() > 0);
+    }
+} 
\ No newline at end of file
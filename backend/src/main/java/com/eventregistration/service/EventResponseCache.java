@@ -0,0 +1,132 @@
+package com.eventregistration.service;
+
+import com.eventregistration.model.Event;
+import com.eventregistration.repository.EventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Serialized JSON bodies of single events, keyed by event id and versioned by
+ * {@code Event.updatedAt}. A hit costs no query and no Jackson work, and the
+ * version doubles as a strong ETag so revalidations never reach the database.
+ *
+ * Writes leave a stale marker carrying the committed version, so a reader that
+ * loaded the previous row concurrently cannot put its older body back.
+ */
+@Component
+public class EventResponseCache {
+    
+    @Autowired
+    private EventRepository eventRepository;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @Autowired
+    private SingleFlight singleFlight;
+    
+    @Value("${events.response-cache.max-entries:10000}")
+    private int maxEntries;
+    
+    private final ConcurrentMap<Long, CachedEvent> entries = new ConcurrentHashMap<>();
+    
+    /**
+     * Returns the cached body for the event, loading and serializing it on a miss,
+     * or empty if the event does not exist.
+     */
+    public Optional<CachedEvent> get(Long eventId) {
+        CachedEvent cached = entries.get(eventId);
+        if (cached != null && cached.body != null) {
+            return Optional.of(cached);
+        }
+        
+        // Concurrent misses for the same event share one query and one serialization
+        return singleFlight.load("event.json", eventId, () -> {
+            Optional<Event> event = eventRepository.findById(eventId);
+            if (event.isEmpty()) {
+                return Optional.empty();
+            }
+            CachedEvent fresh = serialize(event.get());
+            if (cached != null || entries.size() < maxEntries) {
+                entries.merge(eventId, fresh, CachedEvent::newer);
+            }
+            return Optional.of(fresh);
+        });
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEventChanged(EventChangedEvent change) {
+        Event event = change.getEvent();
+        entries.merge(event.getId(), CachedEvent.stale(version(event)), CachedEvent::newer);
+    }
+    
+    private CachedEvent serialize(Event event) {
+        try {
+            long version = version(event);
+            String etag = "\"" + event.getId() + "-" + Long.toHexString(version) + "\"";
+            return new CachedEvent(objectMapper.writeValueAsBytes(event), etag, version);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Failed to serialize event " + event.getId(), e);
+        }
+    }
+    
+    // Millis on both sides: the stale marker sees the in-memory value, the reload whatever the column kept
+    static long version(Event event) {
+        LocalDateTime updatedAt = event.getUpdatedAt();
+        if (updatedAt == null) {
+            return 0;
+        }
+        return updatedAt.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+    
+    public static final class CachedEvent {
+        
+        private final byte[] body;
+        
+        private final String etag;
+        
+        private final long version;
+        
+        private CachedEvent(byte[] body, String etag, long version) {
+            this.body = body;
+            this.etag = etag;
+            this.version = version;
+        }
+        
+        private static CachedEvent stale(long version) {
+            return new CachedEvent(null, null, version);
+        }
+        
+        // Keeps the higher version; at equal versions a body beats a stale marker
+        private static CachedEvent newer(CachedEvent current, CachedEvent candidate) {
+            if (candidate.version > current.version) {
+                return candidate;
+            }
+            if (candidate.version == current.version && candidate.body != null) {
+                return candidate;
+            }
+            return current;
+        }
+        
+        /**
+         * The shared serialized body; callers must not modify it.
+         */
+        public byte[] getBody() {
+            return body;
+        }
+        
+        public String getEtag() {
+            return etag;
+        }
+    }
+} 
\ No newline at end of file
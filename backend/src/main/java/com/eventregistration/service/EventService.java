@@ -1,18 +1,34 @@
 package com.eventregistration.service;
 
+import com.eventregistration.dto.CursorPage;
+import com.eventregistration.dto.EventAvailability;
+import com.eventregistration.dto.EventBreakdown;
 import com.eventregistration.dto.EventRequest;
+import com.eventregistration.dto.EventSummary;
+import com.eventregistration.dto.PageCursor;
 import com.eventregistration.model.Event;
 import com.eventregistration.model.User;
 import com.eventregistration.repository.EventRepository;
+import com.eventregistration.search.EventSearchIndex;
+import com.eventregistration.search.EventTimeIndex;
+import com.eventregistration.search.SearchHit;
+import com.eventregistration.search.SearchResult;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 @Service
 public class EventService {
@@ -23,6 +39,21 @@ public class EventService {
     @Autowired
     private NotificationService notificationService;
     
+    @Autowired
+    private EventCatalogCache catalogCache;
+    
+    @Autowired
+    private EventSearchIndex searchIndex;
+    
+    @Autowired
+    private EventTimeIndex timeIndex;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
+    @Autowired
+    private SingleFlight singleFlight;
+    
     @Transactional
     public Event createEvent(EventRequest request, User organizer) {
         Event event = new Event();
@@ -36,16 +67,25 @@ public class EventService {
         event.setPrice(request.getPrice());
         event.setImageUrl(request.getImageUrl());
         event.setCategory(request.getCategory());
+        event.setLatitude(request.getLatitude());
+        event.setLongitude(request.getLongitude());
         event.setOrganizer(organizer);
         event.setStatus(Event.EventStatus.DRAFT);
         
-        return eventRepository.save(event);
+        Event savedEvent = eventRepository.save(event);
+        eventPublisher.publishEvent(new EventChangedEvent(savedEvent, EventChangedEvent.ChangeType.CREATED,
+                null, null, 0, null));
+        return savedEvent;
     }
     
     @Transactional
     public Event updateEvent(Long eventId, EventRequest request) {
         Event event = eventRepository.findById(eventId)
                 .orElseThrow(() -> new RuntimeException("Event not found"));
+        Event.EventStatus previousStatus = event.getStatus();
+        String previousCategory = event.getCategory();
+        int previousAvailableTickets = event.getAvailableTickets();
+        LocalDateTime previousStartDateTime = event.getStartDateTime();
         
         event.setTitle(request.getTitle());
         event.setDescription(request.getDescription());
@@ -56,17 +96,26 @@ public class EventService {
         event.setPrice(request.getPrice());
         event.setImageUrl(request.getImageUrl());
         event.setCategory(request.getCategory());
+        event.setLatitude(request.getLatitude());
+        event.setLongitude(request.getLongitude());
         
-        return eventRepository.save(event);
+        Event savedEvent = eventRepository.save(event);
+        eventPublisher.publishEvent(new EventChangedEvent(savedEvent, EventChangedEvent.ChangeType.UPDATED,
+                previousStatus, previousCategory, previousAvailableTickets, previousStartDateTime));
+        return savedEvent;
     }
     
     @Transactional
     public Event publishEvent(Long eventId) {
         Event event = eventRepository.findById(eventId)
                 .orElseThrow(() -> new RuntimeException("Event not found"));
+        Event.EventStatus previousStatus = event.getStatus();
         
         event.setStatus(Event.EventStatus.PUBLISHED);
         Event savedEvent = eventRepository.save(event);
+        eventPublisher.publishEvent(new EventChangedEvent(savedEvent, EventChangedEvent.ChangeType.PUBLISHED,
+                previousStatus, event.getCategory(), event.getAvailableTickets(),
+                event.getStartDateTime()));
         
         // Send notification
         notificationService.sendEventUpdateNotification(
@@ -81,9 +130,13 @@ public class EventService {
     public Event cancelEvent(Long eventId) {
         Event event = eventRepository.findById(eventId)
                 .orElseThrow(() -> new RuntimeException("Event not found"));
+        Event.EventStatus previousStatus = event.getStatus();
         
         event.setStatus(Event.EventStatus.CANCELLED);
         Event savedEvent = eventRepository.save(event);
+        eventPublisher.publishEvent(new EventChangedEvent(savedEvent, EventChangedEvent.ChangeType.CANCELLED,
+                previousStatus, event.getCategory(), event.getAvailableTickets(),
+                event.getStartDateTime()));
         
         // Send notification
         notificationService.sendEventUpdateNotification(
@@ -100,8 +153,11 @@ public class EventService {
                 .orElseThrow(() -> new RuntimeException("Event not found"));
         
         if (event.getAvailableTickets() > 0) {
-            event.setAvailableTickets(event.getAvailableTickets() - 1);
+            int previousAvailableTickets = event.getAvailableTickets();
+            event.setAvailableTickets(previousAvailableTickets - 1);
             eventRepository.save(event);
+            eventPublisher.publishEvent(new EventChangedEvent(event, EventChangedEvent.ChangeType.TICKET_RESERVED,
+                    event.getStatus(), event.getCategory(), previousAvailableTickets, event.getStartDateTime()));
             return true;
         }
         return false;
@@ -113,8 +169,11 @@ public class EventService {
                 .orElseThrow(() -> new RuntimeException("Event not found"));
         
         if (event.getAvailableTickets() < event.getCapacity()) {
-            event.setAvailableTickets(event.getAvailableTickets() + 1);
+            int previousAvailableTickets = event.getAvailableTickets();
+            event.setAvailableTickets(previousAvailableTickets + 1);
             eventRepository.save(event);
+            eventPublisher.publishEvent(new EventChangedEvent(event, EventChangedEvent.ChangeType.TICKET_RELEASED,
+                    event.getStatus(), event.getCategory(), previousAvailableTickets, event.getStartDateTime()));
         }
     }
     
@@ -122,51 +181,148 @@ public class EventService {
         return eventRepository.findById(eventId);
     }
     
-    public List<Event> findAvailableEvents() {
-        return eventRepository.findAvailableEvents();
+    /**
+     * Public catalog lists are ordered by (startDateTime, id) and paged with keyset
+     * cursors. Only first pages are cached; they take nearly all of the traffic.
+     */
+    public CursorPage<EventSummary> findAvailableEvents(String cursor, int limit) {
+        PageCursor after = PageCursor.decode(cursor);
+        if (after == null) {
+            return catalogCache.getFirstPage(EventCatalogCache.AVAILABLE, limit,
+                    () -> CursorPage.of(eventRepository.findAvailableEvents(fetchLimit(limit)), limit, EventService::cursorOf));
+        }
+        return CursorPage.of(eventRepository.findAvailableEventsAfter(
+                after.getDateTime(), after.getId(), fetchLimit(limit)), limit, EventService::cursorOf);
     }
     
-    public List<Event> findUpcomingEvents() {
-        return eventRepository.findUpcomingEvents(LocalDateTime.now());
+    /**
+     * Served from the in-memory time index; no SQL on any page.
+     */
+    public CursorPage<EventSummary> findUpcomingEvents(String cursor, int limit) {
+        PageCursor after = PageCursor.decode(cursor);
+        List<EventSummary> rows = after == null
+                ? timeIndex.findStartingAfter(LocalDateTime.now(), null, null, limit + 1)
+                : timeIndex.findStartingAfter(LocalDateTime.now(), after.getDateTime(), after.getId(), limit + 1);
+        return CursorPage.of(rows, limit, EventService::cursorOf);
     }
     
-    public List<Event> searchEvents(String keyword) {
-        return eventRepository.searchEvents(keyword);
+    public List<EventSummary> findEventsHappeningNow(int limit) {
+        return timeIndex.findHappeningAt(LocalDateTime.now(), limit);
     }
     
-    public List<Event> findEventsByCategory(String category) {
-        return eventRepository.findByCategory(category);
+    /**
+     * Ranked search paged by (score, id) of the last hit seen. Scores can shift
+     * when the index is updated between pages; that only moves hits across page
+     * boundaries, never repeats the cursor hit itself.
+     */
+    public CursorPage<EventSummary> searchEvents(String keyword, String cursor, int limit) {
+        PageCursor after = PageCursor.decode(cursor);
+        SearchHit afterHit = after != null ? new SearchHit(after.getId(), after.getScore()) : null;
+        SearchResult result = searchIndex.searchAfter(keyword, afterHit, limit + 1);
+        List<SearchHit> hits = result.getHits();
+        
+        // Load the page in one query, then restore the ranking order
+        List<Long> ids = hits.stream()
+                .limit(limit)
+                .map(SearchHit::getEventId)
+                .toList();
+        Map<Long, EventSummary> eventsById = eventRepository.findSummariesByIdIn(ids).stream()
+                .collect(Collectors.toMap(EventSummary::id, Function.identity()));
+        List<EventSummary> events = ids.stream()
+                .map(eventsById::get)
+                .filter(Objects::nonNull)
+                .toList();
+        
+        String nextCursor = hits.size() > limit
+                ? PageCursor.of(hits.get(limit - 1).getScore(), hits.get(limit - 1).getEventId()).encode()
+                : null;
+        return new CursorPage<>(events, nextCursor);
     }
     
-    public Page<Event> findEventsByStatus(Event.EventStatus status, Pageable pageable) {
-        return eventRepository.findByStatus(status, pageable);
+    public CursorPage<EventSummary> findEventsByCategory(String category, String cursor, int limit) {
+        PageCursor after = PageCursor.decode(cursor);
+        if (after == null) {
+            Supplier<CursorPage<EventSummary>> loader = () -> CursorPage.of(
+                    eventRepository.findByCategory(category, fetchLimit(limit)), limit, EventService::cursorOf);
+            // Unknown names come straight from the URL; caching them would let callers grow the cache
+            return catalogCache.isKnownCategory(category)
+                    ? catalogCache.getFirstPage(EventCatalogCache.CATEGORY_PREFIX + category, limit, loader)
+                    : loader.get();
+        }
+        return CursorPage.of(eventRepository.findByCategoryAfter(
+                category, after.getDateTime(), after.getId(), fetchLimit(limit)), limit, EventService::cursorOf);
     }
     
-    public Page<Event> findEventsByOrganizer(User organizer, Pageable pageable) {
-        return eventRepository.findByOrganizer(organizer, pageable);
+    public Page<EventSummary> findEventsByStatus(Event.EventStatus status, Pageable pageable) {
+        return eventRepository.findSummariesByStatus(status, pageable);
     }
     
-    public List<Event> findEventsByDateRange(LocalDateTime start, LocalDateTime end) {
-        return eventRepository.findByStartDateTimeBetween(start, end);
+    public List<EventBreakdown> getEventBreakdown(String dimension) {
+        return switch (dimension.toLowerCase()) {
+            case "status" -> eventRepository.breakdownByStatus();
+            case "category" -> eventRepository.breakdownByCategory();
+            case "organizer" -> eventRepository.breakdownByOrganizer();
+            default -> throw new IllegalArgumentException("Unknown breakdown: " + dimension);
+        };
     }
     
-    public List<Event> findSoldOutEvents() {
-        return eventRepository.findSoldOutEvents();
+    public Page<EventSummary> findEventsByOrganizer(User organizer, Pageable pageable) {
+        return eventRepository.findSummariesByOrganizer(organizer, pageable);
+    }
+    
+    /**
+     * The time index only holds events that have not ended, so ranges reaching
+     * into the past are read from the database.
+     */
+    public List<EventSummary> findEventsByDateRange(LocalDateTime start, LocalDateTime end, int limit) {
+        if (start.isBefore(LocalDateTime.now())) {
+            return eventRepository.findPublishedStartingBetween(start, end, PageRequest.of(0, limit));
+        }
+        return timeIndex.findStartingBetween(start, end, limit);
+    }
+    
+    public CursorPage<EventSummary> findSoldOutEvents(String cursor, int limit) {
+        PageCursor after = PageCursor.decode(cursor);
+        List<EventSummary> rows = after == null
+                ? eventRepository.findSoldOutEvents(fetchLimit(limit))
+                : eventRepository.findSoldOutEventsAfter(after.getDateTime(), after.getId(), fetchLimit(limit));
+        return CursorPage.of(rows, limit, EventService::cursorOf);
+    }
+    
+    public long countAvailableEvents() {
+        return eventRepository.countAvailableEvents();
+    }
+    
+    public long countUpcomingEvents() {
+        return eventRepository.countUpcomingEvents(LocalDateTime.now());
+    }
+    
+    public long countSoldOutEvents() {
+        return eventRepository.countSoldOutEvents();
     }
     
     public long countEventsByOrganizer(User organizer) {
         return eventRepository.countEventsByOrganizer(organizer);
     }
     
+    public Optional<EventAvailability> findAvailability(Long eventId) {
+        return singleFlight.load("event.findAvailability", eventId, () -> eventRepository.findAvailability(eventId));
+    }
+    
     public boolean isEventAvailable(Long eventId) {
-        Optional<Event> event = eventRepository.findById(eventId);
-        return event.isPresent() && 
-               event.get().getStatus() == Event.EventStatus.PUBLISHED && 
-               event.get().getAvailableTickets() > 0;
+        return findAvailability(eventId).map(EventAvailability::available).orElse(false);
     }
     
     public boolean isEventSoldOut(Long eventId) {
-        Optional<Event> event = eventRepository.findById(eventId);
-        return event.isPresent() && event.get().getAvailableTickets() == 0;
+        return findAvailability(eventId).map(EventAvailability::soldOut).orElse(false);
+    }
+    
+    // One extra row tells whether another page exists
+    private static Pageable fetchLimit(int limit) {
+        return PageRequest.of(0, limit + 1);
+    }
+    
+    private static PageCursor cursorOf(EventSummary event) {
+        return PageCursor.of(event.startDateTime(), event.id());
     }
 } 
\ No newline at end of file
@@ -0,0 +1,45 @@
+package com.eventregistration.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.Optional;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Caps concurrent streamed exports. Each export holds a database connection
+ * and an async request thread until the client has read the last byte, so the
+ * cap is kept well below both pools. A request that finds no free permit is
+ * turned away instead of queueing.
+ */
+@Component
+public class ExportPermits {
+    
+    private final Semaphore permits;
+    
+    public ExportPermits(@Value("${exports.max-concurrent:3}") int maxConcurrent) {
+        this.permits = new Semaphore(maxConcurrent);
+    }
+    
+    /**
+     * Takes a permit and returns the body wrapped to give it back when it
+     * finishes, or empty when all permits are in use.
+     */
+    public Optional<StreamingResponseBody> acquire(StreamingResponseBody body) {
+        if (!permits.tryAcquire()) {
+            return Optional.empty();
+        }
+        return Optional.of(out -> {
+            try {
+                body.writeTo(out);
+            } finally {
+                permits.release();
+            }
+        });
+    }
+    
+    public int available() {
+        return permits.availablePermits();
+    }
+} 
\ No newline at end of file
@@ -1,17 +1,31 @@
 package com.eventregistration.service;
 
+import com.eventregistration.dto.AuthTokens;
+import com.eventregistration.model.User;
+import com.eventregistration.security.AuthenticatedUser;
+import com.eventregistration.security.TokenRevocationList;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
 import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.function.Function;
 
 @Service
@@ -19,12 +33,52 @@ public class JwtService {
     
     private static final Logger logger = LoggerFactory.getLogger(JwtService.class);
     
+    static final String CLAIM_USER_ID = "uid";
+    
+    static final String CLAIM_ROLE = "role";
+    
+    static final String CLAIM_ACCOUNT_VERSION = "ver";
+    
+    static final String CLAIM_TYPE = "typ";
+    
+    static final String CLAIM_SESSION = "sid";
+    
+    static final String CLAIM_GENERATION = "gen";
+    
+    static final String TYPE_ACCESS = "access";
+    
+    static final String TYPE_REFRESH = "refresh";
+    
     @Value("${jwt.secret}")
     private String jwtSecret;
     
     @Value("${jwt.expiration}")
     private int jwtExpirationMs;
     
+    @Value("${jwt.refresh-expiration:604800000}")
+    private long refreshExpirationMs;
+    
+    @Autowired
+    private TokenRevocationList revocationList;
+    
+    @Value("${jwt.verified-cache.max-entries:100000}")
+    private int verifiedCacheMaxEntries;
+    
+    private SecretKey signingKey;
+    
+    private JwtParser jwtParser;
+    
+    // Claims of tokens that already passed signature verification, keyed by token digest
+    private final ConcurrentMap<String, VerifiedToken> verifiedTokens = new ConcurrentHashMap<>();
+    
+    @PostConstruct
+    void init() {
+        signingKey = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+        jwtParser = Jwts.parser()
+                .verifyWith(signingKey)
+                .build();
+    }
+    
     public String extractUsername(String token) {
         return extractClaim(token, Claims::getSubject);
     }
@@ -38,33 +92,135 @@ public class JwtService {
         return claimsResolver.apply(claims);
     }
     
+    /**
+     * Returns the claims of a signed, unexpired token. The signature is checked
+     * once per token per process; later calls are served from the verified-token
+     * cache until the token's own expiry.
+     */
     private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        String digest = digest(token);
+        VerifiedToken cached = verifiedTokens.get(digest);
+        if (cached != null) {
+            if (cached.expiresAtMillis > System.currentTimeMillis()) {
+                return cached.claims;
+            }
+            verifiedTokens.remove(digest, cached);
+        }
+        
+        Claims claims = jwtParser.parseSignedClaims(token).getPayload();
+        Date expiration = claims.getExpiration();
+        if (expiration != null && verifiedTokens.size() < verifiedCacheMaxEntries) {
+            verifiedTokens.put(digest, new VerifiedToken(claims, expiration.getTime()));
+        }
+        return claims;
     }
     
     private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(jwtSecret.getBytes());
+        return signingKey;
+    }
+    
+    /**
+     * Starts a new session for a freshly authenticated user and returns its
+     * short-lived access token and first refresh token.
+     */
+    public AuthTokens issueTokens(User user) {
+        String sessionId = UUID.randomUUID().toString();
+        revocationList.startSession(sessionId, System.currentTimeMillis() + refreshExpirationMs);
+        return createTokenPair(user, sessionId, 0);
     }
     
-    public String generateToken(UserDetails userDetails) {
-        Map<String, Object> claims = new HashMap<>();
-        return createToken(claims, userDetails.getUsername());
+    /**
+     * Exchanges a refresh token for a new token pair. The presented refresh token
+     * is rotated out; presenting it again revokes the whole session.
+     */
+    public AuthTokens rotateTokens(User user, String refreshToken) {
+        Claims claims = extractRefreshClaims(refreshToken);
+        Number userId = claims.get(CLAIM_USER_ID, Number.class);
+        Number accountVersion = claims.get(CLAIM_ACCOUNT_VERSION, Number.class);
+        Number generation = claims.get(CLAIM_GENERATION, Number.class);
+        String sessionId = claims.get(CLAIM_SESSION, String.class);
+        if (userId == null || userId.longValue() != user.getId() || accountVersion == null ||
+            accountVersion.longValue() != user.getAccountVersion() || !user.isEnabled() ||
+            generation == null || sessionId == null) {
+            throw new RuntimeException("Invalid refresh token");
+        }
+        
+        long nextGeneration = revocationList.rotateSession(sessionId, generation.longValue(),
+                System.currentTimeMillis() + refreshExpirationMs);
+        if (nextGeneration < 0) {
+            throw new RuntimeException("Refresh token has been revoked");
+        }
+        return createTokenPair(user, sessionId, nextGeneration);
+    }
+    
+    public Long getUserIdFromRefreshToken(String refreshToken) {
+        Number userId = extractRefreshClaims(refreshToken).get(CLAIM_USER_ID, Number.class);
+        if (userId == null) {
+            throw new RuntimeException("Invalid refresh token");
+        }
+        return userId.longValue();
+    }
+    
+    /**
+     * Revokes the access token and the session it belongs to, which also
+     * invalidates every refresh token issued for that session.
+     */
+    public void revokeTokens(String accessToken) {
+        Claims claims = extractAllClaims(accessToken);
+        revocationList.revokeToken(claims.getId(), claims.getExpiration().getTime());
+        revocationList.revokeSession(claims.get(CLAIM_SESSION, String.class),
+                System.currentTimeMillis() + refreshExpirationMs);
+    }
+    
+    /**
+     * Revokes the session a refresh token belongs to, so logout still works
+     * after the access token has expired.
+     */
+    public void revokeRefreshSession(String refreshToken) {
+        Claims claims = extractRefreshClaims(refreshToken);
+        revocationList.revokeSession(claims.get(CLAIM_SESSION, String.class), claims.getExpiration().getTime());
+    }
+    
+    private AuthTokens createTokenPair(User user, String sessionId, long generation) {
+        Map<String, Object> accessClaims = new HashMap<>();
+        accessClaims.put(CLAIM_TYPE, TYPE_ACCESS);
+        accessClaims.put(CLAIM_SESSION, sessionId);
+        accessClaims.put(CLAIM_USER_ID, user.getId());
+        accessClaims.put(CLAIM_ROLE, user.getRole().name());
+        accessClaims.put(CLAIM_ACCOUNT_VERSION, user.getAccountVersion());
+        
+        Map<String, Object> refreshClaims = new HashMap<>();
+        refreshClaims.put(CLAIM_TYPE, TYPE_REFRESH);
+        refreshClaims.put(CLAIM_SESSION, sessionId);
+        refreshClaims.put(CLAIM_GENERATION, generation);
+        refreshClaims.put(CLAIM_USER_ID, user.getId());
+        refreshClaims.put(CLAIM_ACCOUNT_VERSION, user.getAccountVersion());
+        
+        return new AuthTokens(
+                createToken(accessClaims, user.getUsername(), jwtExpirationMs),
+                createToken(refreshClaims, user.getUsername(), refreshExpirationMs),
+                jwtExpirationMs);
     }
     
-    private String createToken(Map<String, Object> claims, String subject) {
+    private String createToken(Map<String, Object> claims, String subject, long validityMs) {
         return Jwts.builder()
                 .claims(claims)
+                .id(UUID.randomUUID().toString())
                 .subject(subject)
                 .issuedAt(new Date(System.currentTimeMillis()))
-                .expiration(new Date(System.currentTimeMillis() + jwtExpirationMs))
+                .expiration(new Date(System.currentTimeMillis() + validityMs))
                 .signWith(getSigningKey())
                 .compact();
     }
     
+    private Claims extractRefreshClaims(String refreshToken) {
+        Claims claims = extractAllClaims(refreshToken);
+        if (!TYPE_REFRESH.equals(claims.get(CLAIM_TYPE, String.class))) {
+            throw new RuntimeException("Invalid refresh token");
+        }
+        return claims;
+    }
+    
     public Boolean validateToken(String token, UserDetails userDetails) {
         final String username = extractUsername(token);
         return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
@@ -75,20 +231,58 @@ public class JwtService {
     }
     
     public String getUserNameFromJwtToken(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload()
-                .getSubject();
+        return extractAllClaims(token).getSubject();
+    }
+    
+    /**
+     * Builds the request principal from the token claims alone. Returns null for
+     * tokens issued without the identity claims, which forces a fresh login.
+     */
+    public AuthenticatedUser getPrincipalFromJwtToken(String token) {
+        Claims claims = extractAllClaims(token);
+        if (!TYPE_ACCESS.equals(claims.get(CLAIM_TYPE, String.class))) {
+            return null;
+        }
+        // Revocation is checked on every call; only the signature check is cached
+        if (revocationList.isTokenRevoked(claims.getId(), claims.getExpiration().getTime()) ||
+            revocationList.isSessionRevoked(claims.get(CLAIM_SESSION, String.class))) {
+            return null;
+        }
+        Number userId = claims.get(CLAIM_USER_ID, Number.class);
+        String role = claims.get(CLAIM_ROLE, String.class);
+        Number accountVersion = claims.get(CLAIM_ACCOUNT_VERSION, Number.class);
+        if (userId == null || role == null || accountVersion == null) {
+            return null;
+        }
+        return new AuthenticatedUser(userId.longValue(), claims.getSubject(),
+                User.Role.valueOf(role), accountVersion.longValue());
+    }
+    
+    /**
+     * Verifies the token and returns its principal in one pass, or null when the
+     * token is invalid. This is the single entry point used by the request filter.
+     */
+    public AuthenticatedUser authenticate(String authToken) {
+        try {
+            return getPrincipalFromJwtToken(authToken);
+        } catch (SecurityException e) {
+            logger.error("Invalid JWT signature: {}", e.getMessage());
+        } catch (MalformedJwtException e) {
+            logger.error("Invalid JWT token: {}", e.getMessage());
+        } catch (ExpiredJwtException e) {
+            logger.error("JWT token is expired: {}", e.getMessage());
+        } catch (UnsupportedJwtException e) {
+            logger.error("JWT token is unsupported: {}", e.getMessage());
+        } catch (IllegalArgumentException e) {
+            logger.error("JWT claims string is empty: {}", e.getMessage());
+        }
+        
+        return null;
     }
     
     public boolean validateJwtToken(String authToken) {
         try {
-            Jwts.parser()
-                    .verifyWith(getSigningKey())
-                    .build()
-                    .parseSignedClaims(authToken);
+            extractAllClaims(authToken);
             return true;
         } catch (SecurityException e) {
             logger.error("Invalid JWT signature: {}", e.getMessage());
@@ -104,4 +298,32 @@ public class JwtService {
         
         return false;
     }
-} 
\ No newline at end of file
+    
+    @Scheduled(fixedDelayString = "${jwt.verified-cache.sweep-interval-ms:60000}")
+    public void evictExpiredTokens() {
+        long now = System.currentTimeMillis();
+        verifiedTokens.values().removeIf(token -> token.expiresAtMillis <= now);
+    }
+    
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256")
+                    .digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+    
+    private static final class VerifiedToken {
+        
+        private final Claims claims;
+        
+        private final long expiresAtMillis;
+        
+        private VerifiedToken(Claims claims, long expiresAtMillis) {
+            this.claims = claims;
+            this.expiresAtMillis = expiresAtMillis;
+        }
+    }
+}
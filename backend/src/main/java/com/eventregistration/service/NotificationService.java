@@ -1,5 +1,6 @@
 package com.eventregistration.service;
 
+import com.eventregistration.stats.StageTimer;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -29,6 +30,9 @@ public class NotificationService {
     @Autowired
     private ObjectMapper objectMapper;
     
+    @Autowired
+    private StageTimer stageTimer;
+    
     @Value("${aws.ses.from-email}")
     private String fromEmail;
     
@@ -38,9 +42,11 @@ public class NotificationService {
     @Async
     public void sendTicketConfirmationEmail(String toEmail, String userName, String eventTitle, 
                                           String ticketNumber, String qrCodeData) {
+        StageTimer.Laps laps = stageTimer.start("notification.ticket-confirmation");
         try {
             String subject = "Ticket Confirmation - " + eventTitle;
             String htmlBody = generateTicketConfirmationEmail(userName, eventTitle, ticketNumber, qrCodeData);
+            laps.lap("render");
             
             SendEmailRequest request = SendEmailRequest.builder()
                     .source(fromEmail)
@@ -52,15 +58,19 @@ public class NotificationService {
                     .build();
             
             SendEmailResponse response = sesClient.sendEmail(request);
+            laps.lap("ses-send");
             logger.info("Ticket confirmation email sent successfully: {}", response.messageId());
             
         } catch (Exception e) {
             logger.error("Failed to send ticket confirmation email", e);
+        } finally {
+            laps.stop();
         }
     }
     
     @Async
     public void sendEventUpdateNotification(String eventTitle, String message) {
+        StageTimer.Laps laps = stageTimer.start("notification.event-update");
         try {
             Map<String, Object> notificationData = Map.of(
                 "eventTitle", eventTitle,
@@ -77,15 +87,19 @@ public class NotificationService {
                     .build();
             
             PublishResponse response = snsClient.publish(request);
+            laps.lap("sns-publish");
             logger.info("Event update notification sent successfully: {}", response.messageId());
             
         } catch (Exception e) {
             logger.error("Failed to send event update notification", e);
+        } finally {
+            laps.stop();
         }
     }
     
     @Async
     public void sendAdminNotification(String subject, String message) {
+        StageTimer.Laps laps = stageTimer.start("notification.admin");
         try {
             SendEmailRequest request = SendEmailRequest.builder()
                     .source(fromEmail)
@@ -97,10 +111,13 @@ public class NotificationService {
                     .build();
             
             SendEmailResponse response = sesClient.sendEmail(request);
+            laps.lap("ses-send");
             logger.info("Admin notification sent successfully: {}", response.messageId());
             
         } catch (Exception e) {
             logger.error("Failed to send admin notification", e);
+        } finally {
+            laps.stop();
         }
     }
     
@@ -0,0 +1,162 @@
+package com.eventregistration.service;
+
+import com.eventregistration.dto.EventSalesStats;
+import com.eventregistration.stats.OrganizerDashboard;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pushes the organizer dashboard over Server-Sent Events. Works like
+ * {@link AvailabilityBroadcaster}, keyed by organizer: sales and check-ins
+ * mark the organizer dirty and the next flush sends one snapshot of all their
+ * events. Subscribed organizers are also refreshed periodically, because the
+ * per-minute rates decay even when nothing happens.
+ */
+@Component
+public class OrganizerDashboardBroadcaster {
+    
+    private static final Logger logger = LoggerFactory.getLogger(OrganizerDashboardBroadcaster.class);
+    
+    static final String EVENT_NAME = "dashboard";
+    
+    @Autowired
+    private OrganizerDashboard organizerDashboard;
+    
+    @Value("${events.organizer-dashboard.max-subscribers:5000}")
+    private int maxSubscribers;
+    
+    @Value("${events.organizer-dashboard.subscription-timeout-ms:1800000}")
+    private long subscriptionTimeoutMs;
+    
+    private final Map<Long, Set<SseEmitter>> subscribers = new ConcurrentHashMap<>();
+    
+    private final Set<Long> dirty = ConcurrentHashMap.newKeySet();
+    
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    
+    private final SseSender sender;
+    
+    public OrganizerDashboardBroadcaster(
+            @Value("${events.organizer-dashboard.fan-out-threads:4}") int fanOutThreads,
+            @Value("${events.organizer-dashboard.send-timeout-ms:5000}") long sendTimeoutMs) {
+        this.sender = new SseSender("organizer-dashboard-fan-out", fanOutThreads, sendTimeoutMs);
+    }
+    
+    /**
+     * Registers a subscriber and sends it the current dashboard right away.
+     * Returns null when the node is at its subscriber limit.
+     */
+    public SseEmitter subscribe(Long organizerId) {
+        if (subscriberCount.incrementAndGet() > maxSubscribers) {
+            subscriberCount.decrementAndGet();
+            return null;
+        }
+        
+        SseEmitter emitter = new SseEmitter(subscriptionTimeoutMs);
+        subscribers.compute(organizerId, (id, organizerSubscribers) -> {
+            Set<SseEmitter> updated = organizerSubscribers != null ? organizerSubscribers : ConcurrentHashMap.newKeySet();
+            updated.add(emitter);
+            return updated;
+        });
+        Runnable unsubscribe = () -> unsubscribe(organizerId, emitter);
+        emitter.onCompletion(unsubscribe);
+        emitter.onTimeout(unsubscribe);
+        emitter.onError(error -> unsubscribe.run());
+        
+        // Buffered by the emitter until the response starts, so this never blocks
+        try {
+            emitter.send(dashboardEvent(organizerDashboard.snapshot(organizerId)));
+        } catch (IOException | IllegalStateException e) {
+            logger.debug("Dropping organizer dashboard subscriber: {}", e.getMessage());
+            unsubscribe(organizerId, emitter);
+        }
+        return emitter;
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEventChanged(EventChangedEvent change) {
+        markDirty(change.getEvent().getOrganizerId());
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTicketChanged(TicketChangedEvent change) {
+        markDirty(organizerDashboard.getOrganizerId(change.getEventId()));
+    }
+    
+    @Scheduled(fixedRateString = "${events.organizer-dashboard.flush-interval-ms:1000}")
+    public void flush() {
+        Iterator<Long> organizers = dirty.iterator();
+        while (organizers.hasNext()) {
+            Long organizerId = organizers.next();
+            organizers.remove();
+            Set<SseEmitter> organizerSubscribers = subscribers.get(organizerId);
+            if (organizerSubscribers == null || organizerSubscribers.isEmpty()) {
+                continue;
+            }
+            List<EventSalesStats> stats = organizerDashboard.snapshot(organizerId);
+            organizerSubscribers.forEach(emitter -> sender.send(emitter,
+                    () -> dashboardEvent(stats), () -> unsubscribe(organizerId, emitter)));
+        }
+    }
+    
+    /**
+     * Re-sends every subscribed dashboard so rates stay current; this also
+     * keeps idle streams open through proxies.
+     */
+    @Scheduled(fixedRateString = "${events.organizer-dashboard.refresh-interval-ms:15000}")
+    public void refresh() {
+        dirty.addAll(subscribers.keySet());
+    }
+    
+    @Scheduled(fixedRateString = "${events.organizer-dashboard.stall-check-interval-ms:1000}")
+    public void dropStalledSubscribers() {
+        sender.dropStalled();
+    }
+    
+    public int getSubscriberCount() {
+        return subscriberCount.get();
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        sender.shutdown();
+        subscribers.values().forEach(organizerSubscribers -> organizerSubscribers.forEach(SseEmitter::complete));
+    }
+    
+    private void markDirty(Long organizerId) {
+        if (organizerId != null && subscribers.containsKey(organizerId)) {
+            dirty.add(organizerId);
+        }
+    }
+    
+    private static SseEmitter.SseEventBuilder dashboardEvent(List<EventSalesStats> stats) {
+        return SseEmitter.event()
+                .name(EVENT_NAME)
+                .data(stats, MediaType.APPLICATION_JSON);
+    }
+    
+    private void unsubscribe(Long organizerId, SseEmitter emitter) {
+        subscribers.computeIfPresent(organizerId, (id, organizerSubscribers) -> {
+            if (organizerSubscribers.remove(emitter)) {
+                subscriberCount.decrementAndGet();
+            }
+            return organizerSubscribers.isEmpty() ? null : organizerSubscribers;
+        });
+    }
+} 
\ No newline at end of file
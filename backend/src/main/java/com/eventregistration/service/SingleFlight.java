@@ -0,0 +1,96 @@
+package com.eventregistration.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Collapses concurrent identical reads into one in-flight load. The first caller
+ * for an (operation, key) pair runs the loader; callers arriving while it runs
+ * wait for and share its result (or its exception). Nothing is cached once the
+ * load finishes.
+ *
+ * Shared results are handed to several threads, so only coalesce loads that
+ * return immutable projections or serialized bytes, never JPA entities: an
+ * entity would be shared across callers, each of which may modify it or walk
+ * its lazy associations. Calls inside an active transaction always load
+ * directly.
+ *
+ * Metrics: {@code singleflight.calls} tagged by operation and outcome
+ * (leader, shared, bypass); the coalescing ratio is shared / (leader + shared).
+ */
+@Component
+public class SingleFlight {
+    
+    private static final String METRIC = "singleflight.calls";
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    private final Map<List<Object>, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    
+    private final Map<String, Meters> meters = new ConcurrentHashMap<>();
+    
+    @SuppressWarnings("unchecked")
+    public <T> T load(String operation, Object key, Supplier<T> loader) {
+        Meters counters = meters.computeIfAbsent(operation, this::register);
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            counters.bypass.increment();
+            return loader.get();
+        }
+        
+        List<Object> flightKey = List.of(operation, key);
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(flightKey, flight);
+        if (existing != null) {
+            counters.shared.increment();
+            try {
+                return (T) existing.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                throw e;
+            }
+        }
+        
+        counters.leader.increment();
+        try {
+            T value = loader.get();
+            flight.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(flightKey, flight);
+        }
+    }
+    
+    private Meters register(String operation) {
+        return new Meters(
+                counter(operation, "leader"),
+                counter(operation, "shared"),
+                counter(operation, "bypass"));
+    }
+    
+    private Counter counter(String operation, String outcome) {
+        return Counter.builder(METRIC)
+                .description("Reads served by the single-flight loader")
+                .tag("operation", operation)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+    
+    private record Meters(Counter leader, Counter shared, Counter bypass) {
+    }
+} 
\ No newline at end of file
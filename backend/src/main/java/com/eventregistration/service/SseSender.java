@@ -0,0 +1,227 @@
+package com.eventregistration.service;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Delivers SSE events so that one slow client cannot hold up the others.
+ *
+ * Each subscriber has at most one delivery in flight. An event for a
+ * subscriber that is still being written to replaces its pending event
+ * instead of queueing behind it. A subscriber whose write has been blocked for
+ * longer than the send timeout is dropped by {@link #dropStalled()}, and its
+ * connection is failed. The thread stuck in that write is replaced by a
+ * temporary extra pool thread, so stalled sockets do not reduce the capacity
+ * left for healthy subscribers.
+ *
+ * The emitter's send and complete methods share its monitor, which the
+ * stalled write holds. Failing the connection therefore happens on a separate
+ * completion pool, never on the thread calling {@link #dropStalled()}.
+ */
+final class SseSender {
+    
+    private static final int WRITING = 0;
+    
+    private static final int WRITTEN = 1;
+    
+    private static final int STALLED = 2;
+    
+    private final ThreadPoolExecutor pool;
+    
+    private final ThreadPoolExecutor completions;
+    
+    private final long sendTimeoutNanos;
+    
+    private final int threads;
+    
+    // Extra threads standing in for ones blocked in a dropped subscriber's write
+    private int compensating;
+    
+    private final ConcurrentMap<SseEmitter, Delivery> deliveries = new ConcurrentHashMap<>();
+    
+    SseSender(String threadName, int threads, long sendTimeoutMs) {
+        // At most one queued task per subscriber, so the queue is bounded by the subscriber limit
+        this.pool = daemonPool(threadName, threads);
+        // Each completion waits for its stalled write to give up the emitter's monitor
+        this.completions = daemonPool(threadName + "-completion", threads);
+        this.threads = threads;
+        this.sendTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(sendTimeoutMs);
+    }
+    
+    /**
+     * Sends the event, or replaces the one still waiting for this subscriber.
+     * {@code onFailure} runs once if the subscriber turns out to be gone.
+     */
+    void send(SseEmitter emitter, Supplier<SseEmitter.SseEventBuilder> event, Runnable onFailure) {
+        enqueue(emitter, event, onFailure, true);
+    }
+    
+    /**
+     * Sends the event only when nothing is in flight for this subscriber; used
+     * for keep-alives, which must not displace a pending update.
+     */
+    void sendIfIdle(SseEmitter emitter, Supplier<SseEmitter.SseEventBuilder> event, Runnable onFailure) {
+        enqueue(emitter, event, onFailure, false);
+    }
+    
+    /**
+     * Drops subscribers whose current write has exceeded the send timeout.
+     */
+    void dropStalled() {
+        long now = System.nanoTime();
+        deliveries.forEach((emitter, delivery) -> {
+            long startedAt = delivery.startedAt;
+            if (startedAt != 0 && now - startedAt > sendTimeoutNanos && deliveries.remove(emitter, delivery)) {
+                // Only compensate while the write is still blocked; it may have just returned
+                if (compensate(1) && !delivery.writeState.compareAndSet(WRITING, STALLED)) {
+                    compensate(-1);
+                }
+                delivery.onFailure.run();
+                complete(emitter);
+            }
+        });
+    }
+    
+    void shutdown() {
+        pool.shutdownNow();
+        completions.shutdownNow();
+    }
+    
+    private void complete(SseEmitter emitter) {
+        try {
+            completions.execute(() -> {
+                try {
+                    emitter.completeWithError(new IOException("SSE send timed out"));
+                } catch (RuntimeException e) {
+                    // Already completed
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // Shutting down
+        }
+    }
+    
+    private static ThreadPoolExecutor daemonPool(String threadName, int threads) {
+        AtomicInteger threadNumber = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), runnable -> {
+                    Thread thread = new Thread(runnable, threadName + "-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+    
+    private void enqueue(SseEmitter emitter, Supplier<SseEmitter.SseEventBuilder> event, Runnable onFailure,
+                         boolean replacePending) {
+        boolean[] start = {false};
+        deliveries.compute(emitter, (key, delivery) -> {
+            if (delivery == null) {
+                start[0] = true;
+                return new Delivery(event, onFailure);
+            }
+            if (replacePending) {
+                delivery.next = event;
+            }
+            return delivery;
+        });
+        if (start[0]) {
+            try {
+                pool.execute(() -> deliver(emitter));
+            } catch (RejectedExecutionException e) {
+                deliveries.remove(emitter);
+            }
+        }
+    }
+    
+    private void deliver(SseEmitter emitter) {
+        while (true) {
+            Delivery[] taken = {null};
+            // Take the next event, or retire the delivery, atomically with respect to enqueue
+            deliveries.computeIfPresent(emitter, (key, delivery) -> {
+                if (delivery.next == null) {
+                    return null;
+                }
+                delivery.sending = delivery.next;
+                delivery.next = null;
+                delivery.writeState.set(WRITING);
+                delivery.startedAt = System.nanoTime();
+                taken[0] = delivery;
+                return delivery;
+            });
+            Delivery delivery = taken[0];
+            if (delivery == null) {
+                return;
+            }
+            
+            try {
+                emitter.send(delivery.sending.get());
+                delivery.startedAt = 0;
+            } catch (IOException | IllegalStateException e) {
+                if (deliveries.remove(emitter, delivery)) {
+                    delivery.onFailure.run();
+                }
+                return;
+            } finally {
+                if (!delivery.writeState.compareAndSet(WRITING, WRITTEN)) {
+                    // Dropped while blocked; give back the thread that stood in for this one
+                    compensate(-1);
+                }
+            }
+        }
+    }
+    
+    /**
+     * Grows or shrinks the pool around threads blocked in stalled writes. At
+     * most {@code threads} extra threads are added; returns whether this
+     * adjustment was applied.
+     */
+    private synchronized boolean compensate(int delta) {
+        if (delta > 0 && compensating >= threads) {
+            return false;
+        }
+        compensating += delta;
+        int size = threads + compensating;
+        // The maximum must stay at or above the core size at every step
+        if (delta > 0) {
+            pool.setMaximumPoolSize(size);
+            pool.setCorePoolSize(size);
+        } else {
+            pool.setCorePoolSize(size);
+            pool.setMaximumPoolSize(size);
+        }
+        return true;
+    }
+    
+    private static final class Delivery {
+        
+        private final Runnable onFailure;
+        
+        // Guarded by the map entry: only read and written inside compute calls
+        private Supplier<SseEmitter.SseEventBuilder> next;
+        
+        // Taken from next by the delivering thread
+        private Supplier<SseEmitter.SseEventBuilder> sending;
+        
+        // Start of the write in progress, 0 between writes; read by dropStalled
+        private volatile long startedAt;
+        
+        // WRITING until the write returns; STALLED if dropStalled added a thread for it first
+        private final AtomicInteger writeState = new AtomicInteger(WRITTEN);
+        
+        private Delivery(Supplier<SseEmitter.SseEventBuilder> next, Runnable onFailure) {
+            this.next = next;
+            this.onFailure = onFailure;
+        }
+    }
+} 
\ No newline at end of file
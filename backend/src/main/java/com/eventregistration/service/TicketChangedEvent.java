@@ -0,0 +1,53 @@
+package com.eventregistration.service;
+
+import java.time.LocalDateTime;
+
+/**
+ * Published by {@link TicketService} after a ticket is purchased, validated or
+ * cancelled. Carries ids rather than entities so listeners running after commit
+ * never touch lazy associations.
+ */
+public class TicketChangedEvent {
+    
+    public enum ChangeType {
+        PURCHASED, VALIDATED, CANCELLED
+    }
+    
+    private final Long ticketId;
+    
+    private final Long eventId;
+    
+    private final Long userId;
+    
+    private final ChangeType changeType;
+    
+    private final LocalDateTime occurredAt;
+    
+    public TicketChangedEvent(Long ticketId, Long eventId, Long userId, ChangeType changeType, LocalDateTime occurredAt) {
+        this.ticketId = ticketId;
+        this.eventId = eventId;
+        this.userId = userId;
+        this.changeType = changeType;
+        this.occurredAt = occurredAt;
+    }
+    
+    public Long getTicketId() {
+        return ticketId;
+    }
+    
+    public Long getEventId() {
+        return eventId;
+    }
+    
+    public Long getUserId() {
+        return userId;
+    }
+    
+    public ChangeType getChangeType() {
+        return changeType;
+    }
+    
+    public LocalDateTime getOccurredAt() {
+        return occurredAt;
+    }
+} 
\ No newline at end of file
@@ -1,11 +1,17 @@
 package com.eventregistration.service;
 
+import com.eventregistration.dto.CursorPage;
+import com.eventregistration.dto.PageCursor;
+import com.eventregistration.dto.TicketView;
 import com.eventregistration.model.Event;
 import com.eventregistration.model.Ticket;
 import com.eventregistration.model.User;
 import com.eventregistration.repository.TicketRepository;
+import com.eventregistration.stats.StageTimer;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -29,91 +35,128 @@ public class TicketService {
     @Autowired
     private NotificationService notificationService;
     
+    @Autowired
+    private SingleFlight singleFlight;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
+    @Autowired
+    private StageTimer stageTimer;
+    
     @Transactional
     public Ticket purchaseTicket(Long eventId, User user) {
-        // Check if event is available
-        if (!eventService.isEventAvailable(eventId)) {
-            throw new RuntimeException("Event is not available or sold out");
-        }
-        
-        // Check if user already has a ticket for this event
-        Event event = eventService.findById(eventId)
-                .orElseThrow(() -> new RuntimeException("Event not found"));
-        
-        List<Ticket> existingTickets = ticketRepository.findTicketsByEventAndUser(event, user);
-        if (!existingTickets.isEmpty()) {
-            throw new RuntimeException("User already has a ticket for this event");
-        }
-        
-        // Reserve ticket
-        if (!eventService.reserveTicket(eventId)) {
-            throw new RuntimeException("Failed to reserve ticket - event may be sold out");
-        }
-        
+        StageTimer.Laps laps = stageTimer.start("ticket.purchase");
         try {
-            // Create ticket
-            Ticket ticket = new Ticket(event, user);
-            ticket = ticketRepository.save(ticket);
+            // Check if event is available
+            if (!eventService.isEventAvailable(eventId)) {
+                throw new RuntimeException("Event is not available or sold out");
+            }
+            laps.lap("availability");
             
-            // Generate QR code
-            String qrCodeData = qrCodeService.generateTicketQRCode(
-                ticket.getTicketNumber(), 
-                event.getId().toString(), 
-                user.getId().toString()
-            );
+            // Check if user already has a ticket for this event
+            Event event = eventService.findById(eventId)
+                    .orElseThrow(() -> new RuntimeException("Event not found"));
             
-            // Send confirmation email with QR code
-            notificationService.sendTicketConfirmationEmail(
-                user.getEmail(),
-                user.getFirstName() + " " + user.getLastName(),
-                event.getTitle(),
-                ticket.getTicketNumber(),
-                qrCodeData
-            );
+            List<Ticket> existingTickets = ticketRepository.findTicketsByEventAndUser(event, user);
+            if (!existingTickets.isEmpty()) {
+                throw new RuntimeException("User already has a ticket for this event");
+            }
+            laps.lap("duplicate-check");
             
-            return ticket;
+            // Reserve ticket
+            if (!eventService.reserveTicket(eventId)) {
+                throw new RuntimeException("Failed to reserve ticket - event may be sold out");
+            }
+            laps.lap("reserve");
             
-        } catch (Exception e) {
-            // Release the reserved ticket if something goes wrong
-            eventService.releaseTicket(eventId);
-            throw new RuntimeException("Failed to create ticket", e);
+            try {
+                // Create ticket
+                Ticket ticket = new Ticket(event, user);
+                ticket = ticketRepository.save(ticket);
+                eventPublisher.publishEvent(new TicketChangedEvent(ticket.getId(), event.getId(), user.getId(),
+                        TicketChangedEvent.ChangeType.PURCHASED, ticket.getPurchasedAt()));
+                laps.lap("insert");
+                
+                // Generate QR code
+                String qrCodeData = qrCodeService.generateTicketQRCode(
+                    ticket.getTicketNumber(), 
+                    event.getId().toString(), 
+                    user.getId().toString()
+                );
+                laps.lap("qr-code");
+                
+                // Send confirmation email with QR code
+                notificationService.sendTicketConfirmationEmail(
+                    user.getEmail(),
+                    user.getFirstName() + " " + user.getLastName(),
+                    event.getTitle(),
+                    ticket.getTicketNumber(),
+                    qrCodeData
+                );
+                laps.lap("notify-enqueue");
+                
+                return ticket;
+                
+            } catch (Exception e) {
+                // Release the reserved ticket if something goes wrong
+                eventService.releaseTicket(eventId);
+                throw new RuntimeException("Failed to create ticket", e);
+            }
+        } finally {
+            laps.stop();
         }
     }
     
     @Transactional
     public Ticket validateTicket(String qrCode, String validatorName) {
-        Ticket ticket = ticketRepository.findByQrCode(qrCode)
-                .orElseThrow(() -> new RuntimeException("Invalid QR code"));
-        
-        if (ticket.getStatus() != Ticket.TicketStatus.ACTIVE) {
-            throw new RuntimeException("Ticket is not active");
-        }
-        
-        // Check if event has started
-        Event event = ticket.getEvent();
-        if (LocalDateTime.now().isBefore(event.getStartDateTime())) {
-            throw new RuntimeException("Event has not started yet");
-        }
-        
-        if (LocalDateTime.now().isAfter(event.getEndDateTime())) {
-            throw new RuntimeException("Event has already ended");
+        StageTimer.Laps laps = stageTimer.start("ticket.validate");
+        try {
+            Ticket ticket = ticketRepository.findByQrCode(qrCode)
+                    .orElseThrow(() -> new RuntimeException("Invalid QR code"));
+            
+            if (ticket.getStatus() != Ticket.TicketStatus.ACTIVE) {
+                throw new RuntimeException("Ticket is not active");
+            }
+            
+            // Check if event has started
+            Event event = ticket.getEvent();
+            if (LocalDateTime.now().isBefore(event.getStartDateTime())) {
+                throw new RuntimeException("Event has not started yet");
+            }
+            
+            if (LocalDateTime.now().isAfter(event.getEndDateTime())) {
+                throw new RuntimeException("Event has already ended");
+            }
+            laps.lap("lookup");
+            
+            // Validate ticket
+            ticket.setStatus(Ticket.TicketStatus.VALIDATED);
+            ticket.setValidatedAt(LocalDateTime.now());
+            ticket.setValidatedBy(validatorName);
+            
+            Ticket savedTicket = ticketRepository.save(ticket);
+            eventPublisher.publishEvent(new TicketChangedEvent(savedTicket.getId(), event.getId(),
+                    savedTicket.getUser().getId(), TicketChangedEvent.ChangeType.VALIDATED, savedTicket.getValidatedAt()));
+            laps.lap("save");
+            return savedTicket;
+        } finally {
+            laps.stop();
         }
-        
-        // Validate ticket
-        ticket.setStatus(Ticket.TicketStatus.VALIDATED);
-        ticket.setValidatedAt(LocalDateTime.now());
-        ticket.setValidatedBy(validatorName);
-        
-        return ticketRepository.save(ticket);
     }
     
     @Transactional
     public Ticket cancelTicket(Long ticketId, User user) {
+        return cancelTicket(ticketId, user.getId(), user.getRole() == User.Role.ADMIN);
+    }
+    
+    @Transactional
+    public Ticket cancelTicket(Long ticketId, Long userId, boolean admin) {
         Ticket ticket = ticketRepository.findById(ticketId)
                 .orElseThrow(() -> new RuntimeException("Ticket not found"));
         
         // Check if user owns the ticket or is admin
-        if (!ticket.getUser().getId().equals(user.getId()) && user.getRole() != User.Role.ADMIN) {
+        if (!ticket.getUser().getId().equals(userId) && !admin) {
             throw new RuntimeException("Not authorized to cancel this ticket");
         }
         
@@ -131,6 +174,8 @@ public class TicketService {
         ticket.setStatus(Ticket.TicketStatus.CANCELLED);
         ticketRepository.save(ticket);
         eventService.releaseTicket(event.getId());
+        eventPublisher.publishEvent(new TicketChangedEvent(ticket.getId(), event.getId(), ticket.getUser().getId(),
+                TicketChangedEvent.ChangeType.CANCELLED, LocalDateTime.now()));
         
         return ticket;
     }
@@ -151,6 +196,19 @@ public class TicketService {
         return ticketRepository.findByUser(user, pageable);
     }
     
+    public Page<TicketView> findViewsByUser(User user, Pageable pageable) {
+        return ticketRepository.findViewsByUser(user, pageable);
+    }
+    
+    public Page<TicketView> findViewsByEvent(Long eventId, Pageable pageable) {
+        return ticketRepository.findViewsByEvent(eventId, pageable);
+    }
+    
+    public Optional<TicketView> findViewByTicketNumber(String ticketNumber) {
+        return singleFlight.load("ticket.findViewByTicketNumber", ticketNumber,
+                () -> ticketRepository.findViewByTicketNumber(ticketNumber));
+    }
+    
     public List<Ticket> findByEvent(Event event) {
         return ticketRepository.findByEvent(event);
     }
@@ -159,8 +217,15 @@ public class TicketService {
         return ticketRepository.findActiveTicketsByEvent(event);
     }
     
-    public List<Ticket> findUpcomingTicketsByUser(User user) {
-        return ticketRepository.findUpcomingTicketsByUser(user, LocalDateTime.now());
+    public CursorPage<TicketView> findUpcomingTicketsByUser(User user, String cursor, int limit) {
+        PageCursor after = PageCursor.decode(cursor);
+        Pageable fetchLimit = PageRequest.of(0, limit + 1);
+        List<TicketView> rows = after == null
+                ? ticketRepository.findUpcomingTicketsByUser(user, LocalDateTime.now(), fetchLimit)
+                : ticketRepository.findUpcomingTicketsByUserAfter(user, LocalDateTime.now(),
+                        after.getDateTime(), after.getId(), fetchLimit);
+        return CursorPage.of(rows, limit,
+                ticket -> PageCursor.of(ticket.eventStartDateTime(), ticket.id()));
     }
     
     public long countValidatedTicketsByEvent(Event event) {
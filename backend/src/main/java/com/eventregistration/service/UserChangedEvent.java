@@ -0,0 +1,45 @@
+package com.eventregistration.service;
+
+import com.eventregistration.model.User;
+
+/**
+ * Published by {@link UserService} after a user is registered or has their
+ * status toggled.
+ */
+public class UserChangedEvent {
+    
+    public enum ChangeType {
+        REGISTERED, STATUS_CHANGED
+    }
+    
+    private final Long userId;
+    
+    private final User.Role role;
+    
+    private final boolean enabled;
+    
+    private final ChangeType changeType;
+    
+    public UserChangedEvent(Long userId, User.Role role, boolean enabled, ChangeType changeType) {
+        this.userId = userId;
+        this.role = role;
+        this.enabled = enabled;
+        this.changeType = changeType;
+    }
+    
+    public Long getUserId() {
+        return userId;
+    }
+    
+    public User.Role getRole() {
+        return role;
+    }
+    
+    public boolean isEnabled() {
+        return enabled;
+    }
+    
+    public ChangeType getChangeType() {
+        return changeType;
+    }
+} 
\ No newline at end of file
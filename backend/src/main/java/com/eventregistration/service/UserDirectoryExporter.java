@@ -0,0 +1,69 @@
+package com.eventregistration.service;
+
+import com.eventregistration.dto.CursorPage;
+import com.eventregistration.dto.UserSummary;
+import com.eventregistration.model.User;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Streams the filtered user directory for compliance pulls. Rows are read in
+ * keyset batches of the directory projection, in the same order as the admin
+ * directory pages, and written as they arrive, so only one batch is held at a
+ * time.
+ */
+@Component
+public class UserDirectoryExporter {
+    
+    private static final int BATCH_SIZE = 1000;
+    
+    @Autowired
+    private UserService userService;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    public void export(String search, User.Role role, Boolean enabled, ExportFormat format,
+                       OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 16 * 1024);
+        JsonGenerator json = format == ExportFormat.NDJSON ? objectMapper.getFactory().createGenerator(writer) : null;
+        if (json != null) {
+            // One object per line: the newline is written explicitly, not the default space separator
+            json.setRootValueSeparator(null);
+        }
+        if (json == null) {
+            writer.write("id,username,email,firstName,lastName,role,enabled,createdAt\n");
+        }
+        
+        String cursor = null;
+        do {
+            CursorPage<UserSummary> batch = userService.findUsers(cursor, BATCH_SIZE, search, role, enabled);
+            for (UserSummary user : batch.getItems()) {
+                if (json != null) {
+                    objectMapper.writeValue(json, user);
+                    json.writeRaw('\n');
+                } else {
+                    CsvWriter.writeRow(writer, String.valueOf(user.id()), user.username(), user.email(),
+                            user.firstName(), user.lastName(), String.valueOf(user.role()),
+                            String.valueOf(user.enabled()),
+                            user.createdAt() != null ? user.createdAt().toString() : null);
+                }
+            }
+            // Push each batch to the client before reading the next one
+            if (json != null) {
+                json.flush();
+            }
+            writer.flush();
+            cursor = batch.getNextCursor();
+        } while (cursor != null);
+    }
+} 
\ No newline at end of file
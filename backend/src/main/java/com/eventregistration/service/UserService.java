@@ -1,9 +1,14 @@
 package com.eventregistration.service;
 
+import com.eventregistration.dto.CursorPage;
+import com.eventregistration.dto.PageCursor;
 import com.eventregistration.dto.UserRegistrationRequest;
+import com.eventregistration.dto.UserSummary;
 import com.eventregistration.model.User;
 import com.eventregistration.repository.UserRepository;
+import com.eventregistration.security.AccountVersionCache;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
@@ -12,18 +17,30 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
 @Service
 public class UserService implements UserDetailsService {
     
+    // Directory search cursors record which of the two orderings they are in
+    private static final String USERNAME_KEY = "u";
+    
+    private static final String EMAIL_KEY = "e";
+    
     @Autowired
     private UserRepository userRepository;
     
     @Autowired
     private PasswordEncoder passwordEncoder;
     
+    @Autowired
+    private AccountVersionCache accountVersionCache;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
         User user = userRepository.findByUsername(username)
@@ -50,7 +67,10 @@ public class UserService implements UserDetailsService {
         user.setRole(User.Role.USER);
         user.setEnabled(true);
         
-        return userRepository.save(user);
+        User savedUser = userRepository.save(user);
+        eventPublisher.publishEvent(new UserChangedEvent(savedUser.getId(), savedUser.getRole(), true,
+                UserChangedEvent.ChangeType.REGISTERED));
+        return savedUser;
     }
     
     public Optional<User> findByUsername(String username) {
@@ -65,12 +85,53 @@ public class UserService implements UserDetailsService {
         return userRepository.findById(id);
     }
     
+    /**
+     * Returns a lazy reference for use as a query parameter or association target;
+     * no SQL is issued unless a non-id property is read.
+     */
+    public User getReference(Long id) {
+        return userRepository.getReferenceById(id);
+    }
+    
     public List<User> findAllUsers() {
         return userRepository.findAll();
     }
     
-    public List<User> findUsersByRole(User.Role role) {
-        return userRepository.findByRole(role);
+    /**
+     * One page of the admin user directory. {@code search} matches the start of
+     * the username or email: username matches come first in username order,
+     * then the remaining email matches in email order.
+     */
+    public CursorPage<UserSummary> findUsers(String cursor, int limit, String search, User.Role role, Boolean enabled) {
+        PageCursor after = PageCursor.decode(cursor);
+        if (search == null || search.isBlank()) {
+            List<UserSummary> rows = userRepository.findDirectoryPage(after != null ? after.getId() : 0L,
+                    role, enabled, limit + 1);
+            return CursorPage.of(rows, limit, user -> PageCursor.of(user.id()));
+        }
+        
+        String prefix = search.trim();
+        String afterKey = after != null ? after.getSortKey() : null;
+        if (afterKey != null && !afterKey.startsWith(USERNAME_KEY) && !afterKey.startsWith(EMAIL_KEY)) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        List<UserSummary> rows = new ArrayList<>(limit + 1);
+        boolean inEmails = afterKey != null && afterKey.startsWith(EMAIL_KEY);
+        if (!inEmails) {
+            rows.addAll(userRepository.findUsernamePrefixPage(prefix,
+                    afterKey != null ? afterKey.substring(1) : null, role, enabled, limit + 1));
+        }
+        if (rows.size() <= limit) {
+            rows.addAll(userRepository.findEmailPrefixPage(prefix,
+                    inEmails ? afterKey.substring(1) : null, role, enabled, limit + 1 - rows.size()));
+        }
+        return CursorPage.of(rows, limit, user -> user.username().startsWith(prefix)
+                ? PageCursor.of(USERNAME_KEY + user.username(), user.id())
+                : PageCursor.of(EMAIL_KEY + user.email(), user.id()));
+    }
+    
+    public long countUsers() {
+        return userRepository.count();
     }
     
     public List<User> findAllAdmins() {
@@ -95,7 +156,10 @@ public class UserService implements UserDetailsService {
                 .orElseThrow(() -> new RuntimeException("User not found"));
         
         user.setPassword(passwordEncoder.encode(newPassword));
+        // Invalidate tokens issued with the old password
+        user.setAccountVersion(user.getAccountVersion() + 1);
         userRepository.save(user);
+        accountVersionCache.evict(userId);
     }
     
     @Transactional
@@ -104,7 +168,11 @@ public class UserService implements UserDetailsService {
                 .orElseThrow(() -> new RuntimeException("User not found"));
         
         user.setEnabled(!user.isEnabled());
+        user.setAccountVersion(user.getAccountVersion() + 1);
         userRepository.save(user);
+        eventPublisher.publishEvent(new UserChangedEvent(userId, user.getRole(), user.isEnabled(),
+                UserChangedEvent.ChangeType.STATUS_CHANGED));
+        accountVersionCache.evict(userId);
     }
     
     public long countUsersRegisteredAfter(LocalDateTime startDate) {
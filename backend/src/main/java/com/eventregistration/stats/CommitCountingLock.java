@@ -0,0 +1,70 @@
+package com.eventregistration.stats;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Keeps in-memory counters consistent with COUNT queries over the same rows.
+ * A writer holds the read side from just before its commit until its
+ * increments are applied, and each query runs under the write side, so every
+ * commit the query sees has already been counted and is overwritten rather
+ * than counted twice.
+ */
+final class CommitCountingLock {
+    
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    
+    /**
+     * Applies the update once the surrounding transaction commits, holding off
+     * queries from the start of the commit until the update is applied.
+     * Without a transaction the update is applied straight away.
+     */
+    void countAfterCommit(Runnable update) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            lock.readLock().lock();
+            try {
+                update.run();
+            } finally {
+                lock.readLock().unlock();
+            }
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            private boolean holding;
+            
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                lock.readLock().lock();
+                holding = true;
+            }
+            
+            @Override
+            public void afterCompletion(int status) {
+                try {
+                    if (status == STATUS_COMMITTED) {
+                        update.run();
+                    }
+                } finally {
+                    if (holding) {
+                        lock.readLock().unlock();
+                    }
+                }
+            }
+        });
+    }
+    
+    /**
+     * Runs a query and replaces counters with its result; no commit can land
+     * between the query's snapshot and the replacement.
+     */
+    void recount(Runnable recount) {
+        lock.writeLock().lock();
+        try {
+            recount.run();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+} 
\ No newline at end of file
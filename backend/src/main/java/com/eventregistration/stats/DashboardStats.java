@@ -0,0 +1,177 @@
+package com.eventregistration.stats;
+
+import com.eventregistration.model.Event;
+import com.eventregistration.model.User;
+import com.eventregistration.repository.EventRepository;
+import com.eventregistration.repository.TicketRepository;
+import com.eventregistration.repository.UserRepository;
+import com.eventregistration.service.EventChangedEvent;
+import com.eventregistration.service.TicketChangedEvent;
+import com.eventregistration.service.UserChangedEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Admin dashboard counters kept in memory. Service write paths publish change
+ * events; the listeners here adjust striped counters after commit, so reading
+ * the dashboard is O(1).
+ *
+ * Windowed counters (this month, today, upcoming) only ever grow between
+ * reconciliations; entries ageing out of the window are corrected when the
+ * periodic COUNT queries run. {@link CommitCountingLock} keeps a commit from
+ * being counted both by its listener and by a concurrent query.
+ */
+@Component
+public class DashboardStats {
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private EventRepository eventRepository;
+    
+    @Autowired
+    private TicketRepository ticketRepository;
+    
+    private final LongAdder totalUsers = new LongAdder();
+    
+    private final LongAdder admins = new LongAdder();
+    
+    private final LongAdder newUsersThisMonth = new LongAdder();
+    
+    private final LongAdder availableEvents = new LongAdder();
+    
+    private final LongAdder soldOutEvents = new LongAdder();
+    
+    private final LongAdder upcomingEvents = new LongAdder();
+    
+    private final LongAdder totalTickets = new LongAdder();
+    
+    private final LongAdder ticketsThisMonth = new LongAdder();
+    
+    private final LongAdder validatedToday = new LongAdder();
+    
+    private final CommitCountingLock countingLock = new CommitCountingLock();
+    
+    // Read-only transaction so the connection is taken before the write lock, not while holding it
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${admin.stats.reconcile-interval-ms:60000}",
+               initialDelayString = "${admin.stats.reconcile-interval-ms:60000}")
+    @Transactional(readOnly = true)
+    public void reconcile() {
+        LocalDateTime now = LocalDateTime.now();
+        reconcile(totalUsers, userRepository::count);
+        reconcile(admins, () -> userRepository.countByRole(User.Role.ADMIN));
+        reconcile(newUsersThisMonth, () -> userRepository.countUsersRegisteredAfter(now.minusMonths(1)));
+        reconcile(availableEvents, eventRepository::countAvailableEvents);
+        reconcile(soldOutEvents, eventRepository::countSoldOutEvents);
+        reconcile(upcomingEvents, () -> eventRepository.countUpcomingEvents(now));
+        reconcile(totalTickets, ticketRepository::count);
+        reconcile(ticketsThisMonth, () -> ticketRepository.countTicketsPurchasedAfter(now.minusMonths(1)));
+        reconcile(validatedToday, () -> ticketRepository.countTicketsValidatedAfter(now.minusDays(1)));
+    }
+    
+    @EventListener
+    public void onEventChanged(EventChangedEvent change) {
+        countingLock.countAfterCommit(() -> {
+            Event event = change.getEvent();
+            boolean created = change.getChangeType() == EventChangedEvent.ChangeType.CREATED;
+            int previousAvailable = created ? 0 : change.getPreviousAvailableTickets();
+            int available = event.getAvailableTickets();
+            LocalDateTime now = LocalDateTime.now();
+            boolean wasUpcoming = isUpcoming(change.getPreviousStartDateTime(), now);
+            boolean upcoming = isUpcoming(event.getStartDateTime(), now);
+            
+            adjust(availableEvents, change.wasPublished() && previousAvailable > 0, change.isPublished() && available > 0);
+            adjust(soldOutEvents, change.wasPublished() && previousAvailable == 0, change.isPublished() && available == 0);
+            adjust(upcomingEvents, change.wasPublished() && wasUpcoming, change.isPublished() && upcoming);
+        });
+    }
+    
+    @EventListener
+    public void onTicketChanged(TicketChangedEvent change) {
+        countingLock.countAfterCommit(() -> {
+            switch (change.getChangeType()) {
+                case PURCHASED -> {
+                    totalTickets.increment();
+                    ticketsThisMonth.increment();
+                }
+                case VALIDATED -> validatedToday.increment();
+                case CANCELLED -> {
+                    // Purchase counts include tickets cancelled later
+                }
+            }
+        });
+    }
+    
+    @EventListener
+    public void onUserChanged(UserChangedEvent change) {
+        if (change.getChangeType() == UserChangedEvent.ChangeType.REGISTERED) {
+            countingLock.countAfterCommit(() -> {
+                totalUsers.increment();
+                newUsersThisMonth.increment();
+                if (change.getRole() == User.Role.ADMIN) {
+                    admins.increment();
+                }
+            });
+        }
+    }
+    
+    public Map<String, Object> snapshot() {
+        return Map.of(
+            "users", Map.of(
+                "total", totalUsers.sum(),
+                "admins", admins.sum(),
+                "newThisMonth", newUsersThisMonth.sum()
+            ),
+            "events", Map.of(
+                "total", availableEvents.sum(),
+                "soldOut", soldOutEvents.sum(),
+                "upcoming", upcomingEvents.sum()
+            ),
+            "tickets", Map.of(
+                "total", totalTickets.sum(),
+                "thisMonth", ticketsThisMonth.sum(),
+                "validatedToday", validatedToday.sum()
+            )
+        );
+    }
+    
+    public long getTotalTickets() {
+        return totalTickets.sum();
+    }
+    
+    public long getUpcomingEvents() {
+        return upcomingEvents.sum();
+    }
+    
+    public long getSoldOutEvents() {
+        return soldOutEvents.sum();
+    }
+    
+    private void reconcile(LongAdder counter, LongSupplier query) {
+        countingLock.recount(() -> {
+            counter.reset();
+            counter.add(query.getAsLong());
+        });
+    }
+    
+    private static boolean isUpcoming(LocalDateTime startDateTime, LocalDateTime now) {
+        return startDateTime != null && !startDateTime.isBefore(now);
+    }
+    
+    private static void adjust(LongAdder counter, boolean before, boolean after) {
+        if (before != after) {
+            counter.add(after ? 1 : -1);
+        }
+    }
+} 
\ No newline at end of file
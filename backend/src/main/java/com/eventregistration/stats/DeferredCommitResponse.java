@@ -0,0 +1,144 @@
+package com.eventregistration.stats;
+
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.Charset;
+
+/**
+ * Holds the response body, including flushes, until {@link #release()}, so a
+ * filter can still replace the response after the handler has written it.
+ * Once released, writes go straight to the underlying response; streaming
+ * responses are released as soon as they go async.
+ */
+final class DeferredCommitResponse extends HttpServletResponseWrapper {
+    
+    private final ByteArrayOutputStream buffer = new ByteArrayOutputStream(1024);
+    
+    private boolean released;
+    
+    private ServletOutputStream outputStream;
+    
+    private PrintWriter writer;
+    
+    DeferredCommitResponse(HttpServletResponse response) {
+        super(response);
+    }
+    
+    @Override
+    public ServletOutputStream getOutputStream() {
+        if (outputStream == null) {
+            outputStream = new DeferredOutputStream();
+        }
+        return outputStream;
+    }
+    
+    @Override
+    public PrintWriter getWriter() {
+        if (writer == null) {
+            writer = new PrintWriter(new OutputStreamWriter(getOutputStream(),
+                    Charset.forName(getCharacterEncoding())));
+        }
+        return writer;
+    }
+    
+    @Override
+    public void flushBuffer() throws IOException {
+        if (released) {
+            super.flushBuffer();
+        }
+    }
+    
+    @Override
+    public void resetBuffer() {
+        buffer.reset();
+        super.resetBuffer();
+    }
+    
+    @Override
+    public void reset() {
+        buffer.reset();
+        super.reset();
+    }
+    
+    /**
+     * Drops whatever the handler wrote; headers and status are left to the caller.
+     */
+    void discard() {
+        if (writer != null) {
+            writer.flush();
+        }
+        buffer.reset();
+    }
+    
+    /**
+     * Writes the held body to the underlying response and passes later writes through.
+     */
+    void release() throws IOException {
+        if (released) {
+            return;
+        }
+        if (writer != null) {
+            writer.flush();
+        }
+        released = true;
+        if (buffer.size() > 0) {
+            ServletOutputStream target = getResponse().getOutputStream();
+            buffer.writeTo(target);
+            target.flush();
+            buffer.reset();
+        }
+    }
+    
+    private final class DeferredOutputStream extends ServletOutputStream {
+        
+        @Override
+        public void write(int b) throws IOException {
+            if (released) {
+                getResponse().getOutputStream().write(b);
+            } else {
+                buffer.write(b);
+            }
+        }
+        
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException {
+            if (released) {
+                getResponse().getOutputStream().write(bytes, offset, length);
+            } else {
+                buffer.write(bytes, offset, length);
+            }
+        }
+        
+        @Override
+        public void flush() throws IOException {
+            if (released) {
+                getResponse().getOutputStream().flush();
+            }
+        }
+        
+        @Override
+        public boolean isReady() {
+            try {
+                return !released || getResponse().getOutputStream().isReady();
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+        
+        @Override
+        public void setWriteListener(WriteListener listener) {
+            try {
+                getResponse().getOutputStream().setWriteListener(listener);
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+} 
\ No newline at end of file
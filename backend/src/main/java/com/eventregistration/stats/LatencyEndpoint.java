@@ -0,0 +1,67 @@
+package com.eventregistration.stats;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code /actuator/latency}: per-stage hot-path latency percentiles and SQL
+ * statements per request, read from the recorders in {@link StageTimer} and
+ * {@link QueryCountFilter}.
+ */
+@Component
+@Endpoint(id = "latency")
+public class LatencyEndpoint {
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @ReadOperation
+    public Map<String, Object> latency() {
+        Map<String, Object> stages = new TreeMap<>();
+        for (Timer timer : meterRegistry.find(StageTimer.METRIC).timers()) {
+            HistogramSnapshot snapshot = timer.takeSnapshot();
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("count", snapshot.count());
+            stats.put("meanMs", snapshot.mean(TimeUnit.MILLISECONDS));
+            stats.put("maxMs", snapshot.max(TimeUnit.MILLISECONDS));
+            for (ValueAtPercentile percentile : snapshot.percentileValues()) {
+                stats.put(percentileKey(percentile) + "Ms", percentile.value(TimeUnit.MILLISECONDS));
+            }
+            stages.put(timer.getId().getTag("operation") + "." + timer.getId().getTag("stage"), stats);
+        }
+        
+        Map<String, Object> queries = new TreeMap<>();
+        for (DistributionSummary summary : meterRegistry.find(QueryCountFilter.METRIC).summaries()) {
+            HistogramSnapshot snapshot = summary.takeSnapshot();
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("requests", snapshot.count());
+            stats.put("mean", snapshot.mean());
+            stats.put("max", snapshot.max());
+            for (ValueAtPercentile percentile : snapshot.percentileValues()) {
+                stats.put(percentileKey(percentile), percentile.value());
+            }
+            queries.put(summary.getId().getTag("method") + " " + summary.getId().getTag("uri"), stats);
+        }
+        
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("stages", stages);
+        result.put("queriesPerRequest", queries);
+        return result;
+    }
+    
+    private static String percentileKey(ValueAtPercentile percentile) {
+        return "p" + Math.round(percentile.percentile() * 100);
+    }
+} 
\ No newline at end of file
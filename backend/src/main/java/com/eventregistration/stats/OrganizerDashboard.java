@@ -0,0 +1,192 @@
+package com.eventregistration.stats;
+
+import com.eventregistration.dto.EventSalesStats;
+import com.eventregistration.dto.EventSummary;
+import com.eventregistration.model.Event;
+import com.eventregistration.repository.EventRepository;
+import com.eventregistration.repository.TicketRepository;
+import com.eventregistration.service.EventChangedEvent;
+import com.eventregistration.service.TicketChangedEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-event sales and check-in counters for organizers. Inventory comes from
+ * {@link EventChangedEvent}, check-ins from {@link TicketChangedEvent}, and
+ * rates from the per-event minute buckets of {@link TicketSalesTimeSeries},
+ * so building a dashboard issues no queries.
+ *
+ * Check-in counts are taken from the database once at startup; a
+ * {@link CommitCountingLock} keeps check-ins committing meanwhile from being
+ * counted twice.
+ */
+@Component
+public class OrganizerDashboard {
+    
+    // Trailing window the per-minute rates are averaged over
+    static final int RATE_WINDOW_MINUTES = 5;
+    
+    private static final int BOOTSTRAP_BATCH_SIZE = 1000;
+    
+    @Autowired
+    private EventRepository eventRepository;
+    
+    @Autowired
+    private TicketRepository ticketRepository;
+    
+    @Autowired
+    private TicketSalesTimeSeries salesTimeSeries;
+    
+    private final Map<Long, EventCounters> events = new ConcurrentHashMap<>();
+    
+    private final Map<Long, Set<Long>> eventsByOrganizer = new ConcurrentHashMap<>();
+    
+    private final CommitCountingLock validationCounts = new CommitCountingLock();
+    
+    // Read-only transaction so the connection is taken before the write lock, not while holding it
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void bootstrap() {
+        long afterId = 0;
+        List<EventSummary> batch;
+        do {
+            batch = eventRepository.findSummariesAfter(afterId, PageRequest.of(0, BOOTSTRAP_BATCH_SIZE));
+            for (EventSummary event : batch) {
+                // Live changes that landed first are newer than the bootstrap read
+                if (events.putIfAbsent(event.id(), new EventCounters(event.organizerId(), event.title(),
+                        event.status(), event.capacity(), event.availableTickets())) == null) {
+                    index(event.organizerId(), event.id());
+                }
+                afterId = event.id();
+            }
+        } while (batch.size() == BOOTSTRAP_BATCH_SIZE);
+        
+        // Replaces whatever the listeners counted so far; commits the query sees are not added twice
+        validationCounts.recount(() -> {
+            Map<Long, Long> validated = new HashMap<>();
+            for (Object[] row : ticketRepository.countValidatedTicketsGroupedByEvent()) {
+                validated.put((Long) row[0], (Long) row[1]);
+            }
+            events.forEach((eventId, counters) -> counters.validated.set(validated.getOrDefault(eventId, 0L)));
+        });
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEventChanged(EventChangedEvent change) {
+        Event event = change.getEvent();
+        EventCounters counters = events.computeIfAbsent(event.getId(), id -> {
+            index(event.getOrganizerId(), id);
+            return new EventCounters(event.getOrganizerId(), event.getTitle(), event.getStatus(),
+                    event.getCapacity(), event.getAvailableTickets());
+        });
+        counters.update(event.getTitle(), event.getStatus(), event.getCapacity(), event.getAvailableTickets());
+    }
+    
+    @EventListener
+    public void onTicketChanged(TicketChangedEvent change) {
+        if (change.getChangeType() == TicketChangedEvent.ChangeType.VALIDATED) {
+            validationCounts.countAfterCommit(() -> {
+                EventCounters counters = events.get(change.getEventId());
+                if (counters != null) {
+                    counters.validated.incrementAndGet();
+                }
+            });
+        }
+    }
+    
+    public Long getOrganizerId(Long eventId) {
+        EventCounters counters = events.get(eventId);
+        return counters != null ? counters.organizerId : null;
+    }
+    
+    /**
+     * Stats for every event of the organizer, in creation order.
+     */
+    public List<EventSalesStats> snapshot(Long organizerId) {
+        Set<Long> eventIds = eventsByOrganizer.get(organizerId);
+        if (eventIds == null) {
+            return List.of();
+        }
+        LocalDateTime windowStart = LocalDateTime.now().minusMinutes(RATE_WINDOW_MINUTES);
+        List<EventSalesStats> stats = new ArrayList<>(eventIds.size());
+        for (Long eventId : eventIds) {
+            EventCounters counters = events.get(eventId);
+            if (counters != null) {
+                stats.add(counters.toStats(eventId, windowStart));
+            }
+        }
+        stats.sort(Comparator.comparing(EventSalesStats::eventId));
+        return stats;
+    }
+    
+    public EventSalesStats snapshot(Long organizerId, Long eventId) {
+        EventCounters counters = events.get(eventId);
+        if (counters == null || !organizerId.equals(counters.organizerId)) {
+            return null;
+        }
+        return counters.toStats(eventId, LocalDateTime.now().minusMinutes(RATE_WINDOW_MINUTES));
+    }
+    
+    private void index(Long organizerId, Long eventId) {
+        if (organizerId == null) {
+            return;
+        }
+        eventsByOrganizer.computeIfAbsent(organizerId, id -> ConcurrentHashMap.newKeySet()).add(eventId);
+    }
+    
+    private final class EventCounters {
+        
+        private final Long organizerId;
+        
+        private volatile String title;
+        
+        private volatile Event.EventStatus status;
+        
+        private volatile int capacity;
+        
+        private volatile int available;
+        
+        private final AtomicLong validated = new AtomicLong();
+        
+        private EventCounters(Long organizerId, String title, Event.EventStatus status, Integer capacity,
+                              Integer available) {
+            this.organizerId = organizerId;
+            update(title, status, capacity, available);
+        }
+        
+        private void update(String title, Event.EventStatus status, Integer capacity, Integer available) {
+            this.title = title;
+            this.status = status;
+            this.capacity = capacity != null ? capacity : 0;
+            this.available = available != null ? available : 0;
+        }
+        
+        private EventSalesStats toStats(Long eventId, LocalDateTime windowStart) {
+            int currentCapacity = capacity;
+            int remaining = available;
+            double salesPerMinute = (double) salesTimeSeries.count(eventId,
+                    TicketSalesTimeSeries.Metric.PURCHASED, windowStart) / RATE_WINDOW_MINUTES;
+            double scansPerMinute = (double) salesTimeSeries.count(eventId,
+                    TicketSalesTimeSeries.Metric.VALIDATED, windowStart) / RATE_WINDOW_MINUTES;
+            Double minutesToSellOut = remaining == 0 ? Double.valueOf(0)
+                    : salesPerMinute > 0 ? remaining / salesPerMinute : null;
+            return new EventSalesStats(eventId, title, status, currentCapacity, currentCapacity - remaining,
+                    remaining, validated.get(), salesPerMinute, scansPerMinute, minutesToSellOut);
+        }
+    }
+} 
\ No newline at end of file
@@ -0,0 +1,15 @@
+package com.eventregistration.stats;
+
+/**
+ * Thrown at the end of a request that broke its SQL budget or repeated a
+ * statement like an N+1 load, when {@code sql.budget.enforce} is on but the
+ * response was already committed (e.g. by sendError) and cannot be replaced
+ * with a 500. Meant for tests, so a regression fails the build instead of only
+ * being logged.
+ */
+public class QueryBudgetExceededException extends RuntimeException {
+    
+    public QueryBudgetExceededException(String message) {
+        super(message);
+    }
+} 
\ No newline at end of file
@@ -0,0 +1,152 @@
+package com.eventregistration.stats;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tracks the SQL each request runs through {@link QueryTrackingDataSource} and
+ * records it per route (method and pattern):
+ * <ul>
+ *   <li>{@code http.server.requests.queries}: statements per request</li>
+ *   <li>{@code http.server.requests.query.rows}: rows read per request</li>
+ *   <li>{@code http.server.requests.query.time}: time spent executing SQL</li>
+ *   <li>{@code sql.budget.violations}: requests over the statement budget
+ *       ({@code type=budget}) or repeating one statement at least
+ *       {@code sql.budget.n-plus-one-threshold} times ({@code type=n-plus-one})</li>
+ * </ul>
+ * Each violation is logged once per route and statement. With
+ * {@code sql.budget.enforce} on, violations also fail the request with a 500:
+ * the body is held back until the check has run, so the error replaces it
+ * rather than arriving after a committed 200. Requests that go async are
+ * streamed as usual and not enforced.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class QueryCountFilter extends OncePerRequestFilter {
+    
+    static final String METRIC = "http.server.requests.queries";
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Value("${sql.budget.max-statements:30}")
+    private int maxStatements;
+    
+    @Value("${sql.budget.n-plus-one-threshold:10}")
+    private int nPlusOneThreshold;
+    
+    @Value("${sql.budget.enforce:false}")
+    private boolean enforce;
+    
+    private final Map<String, RouteMeters> meters = new ConcurrentHashMap<>();
+    
+    private final Set<String> reported = ConcurrentHashMap.newKeySet();
+    
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        DeferredCommitResponse deferred = enforce ? new DeferredCommitResponse(response) : null;
+        RequestQueryStats stats = RequestQueryStats.begin();
+        try {
+            filterChain.doFilter(request, deferred != null ? deferred : response);
+        } finally {
+            RequestQueryStats.end();
+            if (deferred != null && request.isAsyncStarted()) {
+                deferred.release();
+            }
+        }
+        
+        // Route patterns keep the tag bounded; unmatched requests share one tag
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String route = request.getMethod() + ' ' + (pattern != null ? pattern.toString() : "UNKNOWN");
+        RouteMeters routeMeters = meters.computeIfAbsent(route, key ->
+                new RouteMeters(request.getMethod(), pattern != null ? pattern.toString() : "UNKNOWN"));
+        routeMeters.statements.record(stats.getStatements());
+        routeMeters.rows.record(stats.getRows());
+        routeMeters.time.record(stats.getNanos(), TimeUnit.NANOSECONDS);
+        
+        String violation = null;
+        if (stats.getMostRepeatedCount() >= nPlusOneThreshold) {
+            routeMeters.nPlusOne.increment();
+            violation = "Possible N+1 on " + route + ": statement ran " + stats.getMostRepeatedCount() +
+                    " times: " + stats.getMostRepeatedSql();
+            if (reported.add(route + '|' + stats.getMostRepeatedSql())) {
+                logger.warn(violation);
+            }
+        }
+        if (stats.getStatements() > maxStatements) {
+            routeMeters.overBudget.increment();
+            violation = "SQL budget exceeded on " + route + ": " + stats.getStatements() +
+                    " statements, budget " + maxStatements;
+            if (reported.add(route)) {
+                logger.warn(violation);
+            }
+        }
+        if (deferred == null || request.isAsyncStarted()) {
+            return;
+        }
+        if (violation == null) {
+            deferred.release();
+        } else if (!response.isCommitted()) {
+            deferred.discard();
+            deferred.reset();
+            response.sendError(HttpServletResponse.SC_INTERNAL_SERVER_ERROR, violation);
+        } else {
+            throw new QueryBudgetExceededException(violation);
+        }
+    }
+    
+    private final class RouteMeters {
+        
+        private final DistributionSummary statements;
+        
+        private final DistributionSummary rows;
+        
+        private final Timer time;
+        
+        private final Counter overBudget;
+        
+        private final Counter nPlusOne;
+        
+        private RouteMeters(String method, String uri) {
+            statements = DistributionSummary.builder(METRIC)
+                    .tag("method", method).tag("uri", uri)
+                    .publishPercentiles(0.5, 0.99)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry);
+            rows = DistributionSummary.builder("http.server.requests.query.rows")
+                    .tag("method", method).tag("uri", uri)
+                    .publishPercentiles(0.5, 0.99)
+                    .register(meterRegistry);
+            time = Timer.builder("http.server.requests.query.time")
+                    .tag("method", method).tag("uri", uri)
+                    .publishPercentiles(0.5, 0.99)
+                    .register(meterRegistry);
+            overBudget = Counter.builder("sql.budget.violations")
+                    .tag("method", method).tag("uri", uri).tag("type", "budget")
+                    .register(meterRegistry);
+            nPlusOne = Counter.builder("sql.budget.violations")
+                    .tag("method", method).tag("uri", uri).tag("type", "n-plus-one")
+                    .register(meterRegistry);
+        }
+    }
+} 
\ No newline at end of file
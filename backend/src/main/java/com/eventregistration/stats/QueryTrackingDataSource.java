@@ -0,0 +1,101 @@
+package com.eventregistration.stats;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Wraps the pool so statements run during a tracked request report their SQL,
+ * execution time and rows read to {@link RequestQueryStats}. Connections handed
+ * out to untracked threads are returned unwrapped, so background work pays
+ * nothing. Covers Hibernate and plain JDBC alike.
+ */
+public class QueryTrackingDataSource extends DelegatingDataSource {
+    
+    public QueryTrackingDataSource(DataSource targetDataSource) {
+        super(targetDataSource);
+    }
+    
+    @Override
+    public Connection getConnection() throws SQLException {
+        return track(super.getConnection());
+    }
+    
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return track(super.getConnection(username, password));
+    }
+    
+    private static Connection track(Connection connection) {
+        RequestQueryStats stats = RequestQueryStats.current();
+        if (stats == null) {
+            return connection;
+        }
+        return (Connection) Proxy.newProxyInstance(QueryTrackingDataSource.class.getClassLoader(),
+                new Class<?>[] {Connection.class}, (proxy, method, args) -> {
+                    Object result = invoke(connection, method, args);
+                    if (result instanceof Statement statement) {
+                        // prepareStatement/prepareCall carry the SQL up front; createStatement passes it on execute
+                        String sql = method.getName().startsWith("prepare") ? (String) args[0] : null;
+                        return trackStatement(statement, sql, stats);
+                    }
+                    return result;
+                });
+    }
+    
+    private static Statement trackStatement(Statement statement, String preparedSql, RequestQueryStats stats) {
+        Class<?> type = statement instanceof CallableStatement ? CallableStatement.class
+                : statement instanceof PreparedStatement ? PreparedStatement.class
+                : Statement.class;
+        InvocationHandler handler = (proxy, method, args) -> {
+            String name = method.getName();
+            if (name.startsWith("execute")) {
+                String sql = args != null && args.length > 0 && args[0] instanceof String text ? text : preparedSql;
+                long start = System.nanoTime();
+                try {
+                    return trackResultSet(invoke(statement, method, args), stats);
+                } finally {
+                    stats.recordExecution(sql, System.nanoTime() - start);
+                }
+            }
+            if (name.equals("getResultSet") || name.equals("getGeneratedKeys")) {
+                return trackResultSet(invoke(statement, method, args), stats);
+            }
+            return invoke(statement, method, args);
+        };
+        return (Statement) Proxy.newProxyInstance(QueryTrackingDataSource.class.getClassLoader(),
+                new Class<?>[] {type}, handler);
+    }
+    
+    private static Object trackResultSet(Object result, RequestQueryStats stats) {
+        if (!(result instanceof ResultSet resultSet)) {
+            return result;
+        }
+        return Proxy.newProxyInstance(QueryTrackingDataSource.class.getClassLoader(),
+                new Class<?>[] {ResultSet.class}, (proxy, method, args) -> {
+                    Object value = invoke(resultSet, method, args);
+                    if (method.getName().equals("next") && Boolean.TRUE.equals(value)) {
+                        stats.recordRow();
+                    }
+                    return value;
+                });
+    }
+    
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+} 
\ No newline at end of file
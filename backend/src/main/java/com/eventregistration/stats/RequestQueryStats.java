@@ -0,0 +1,78 @@
+package com.eventregistration.stats;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * SQL activity of the request running on the current thread: statements
+ * executed, rows read, time spent in the driver, and how often each distinct
+ * statement ran, which is what exposes N+1 patterns. Only threads inside
+ * {@link QueryCountFilter} carry stats; everything else is not tracked.
+ */
+final class RequestQueryStats {
+    
+    private static final ThreadLocal<RequestQueryStats> CURRENT = new ThreadLocal<>();
+    
+    private long statements;
+    
+    private long rows;
+    
+    private long nanos;
+    
+    private final Map<String, Integer> executionsBySql = new HashMap<>();
+    
+    private String mostRepeatedSql;
+    
+    private int mostRepeatedCount;
+    
+    static RequestQueryStats begin() {
+        RequestQueryStats stats = new RequestQueryStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+    
+    static RequestQueryStats current() {
+        return CURRENT.get();
+    }
+    
+    static void end() {
+        CURRENT.remove();
+    }
+    
+    void recordExecution(String sql, long elapsedNanos) {
+        statements++;
+        nanos += elapsedNanos;
+        if (sql == null) {
+            return;
+        }
+        int count = executionsBySql.merge(sql, 1, Integer::sum);
+        if (count > mostRepeatedCount) {
+            mostRepeatedCount = count;
+            mostRepeatedSql = sql;
+        }
+    }
+    
+    void recordRow() {
+        rows++;
+    }
+    
+    long getStatements() {
+        return statements;
+    }
+    
+    long getRows() {
+        return rows;
+    }
+    
+    long getNanos() {
+        return nanos;
+    }
+    
+    String getMostRepeatedSql() {
+        return mostRepeatedSql;
+    }
+    
+    int getMostRepeatedCount() {
+        return mostRepeatedCount;
+    }
+} 
\ No newline at end of file
@@ -0,0 +1,71 @@
+package com.eventregistration.stats;
+
+import java.util.Arrays;
+
+/**
+ * Fixed-size ring of counts indexed by absolute bucket number (e.g. epoch
+ * minute). Each slot remembers which bucket it holds, so stale slots read as
+ * zero without any background clearing.
+ */
+final class RingCounter {
+    
+    private final long[] bucketIds;
+    
+    private final long[] counts;
+    
+    RingCounter(int capacity) {
+        this.bucketIds = new long[capacity];
+        this.counts = new long[capacity];
+        Arrays.fill(bucketIds, -1);
+    }
+    
+    int capacity() {
+        return counts.length;
+    }
+    
+    synchronized void add(long bucket, long delta) {
+        int slot = slot(bucket);
+        if (bucketIds[slot] != bucket) {
+            if (bucketIds[slot] > bucket) {
+                // Older than the oldest retained bucket
+                return;
+            }
+            bucketIds[slot] = bucket;
+            counts[slot] = 0;
+        }
+        counts[slot] += delta;
+    }
+    
+    /**
+     * Sum of buckets in [from, to], inclusive.
+     */
+    synchronized long sum(long from, long to) {
+        long total = 0;
+        for (long bucket = Math.max(from, to - counts.length + 1); bucket <= to; bucket++) {
+            int slot = slot(bucket);
+            if (bucketIds[slot] == bucket) {
+                total += counts[slot];
+            }
+        }
+        return total;
+    }
+    
+    /**
+     * The {@code points} buckets ending at {@code to}, oldest first.
+     */
+    synchronized long[] series(long to, int points) {
+        long[] result = new long[points];
+        for (int i = 0; i < points; i++) {
+            long bucket = to - points + 1 + i;
+            int slot = slot(bucket);
+            if (bucket >= 0 && bucketIds[slot] == bucket) {
+                result[i] = counts[slot];
+            }
+        }
+        return result;
+    }
+    
+    private int slot(long bucket) {
+        return (int) Math.floorMod(bucket, (long) counts.length);
+    }
+} 
\ No newline at end of file
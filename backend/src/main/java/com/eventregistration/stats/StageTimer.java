@@ -0,0 +1,112 @@
+package com.eventregistration.stats;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-stage latency of hot paths, as {@code hotpath.latency} timers tagged by
+ * operation and stage. Percentiles are kept client-side in Micrometer's
+ * HdrHistogram-backed recorders, so recording is lock-free and the
+ * {@code latency} actuator endpoint can report p50/p90/p99 per stage.
+ *
+ * Usage: {@code Laps laps = stageTimer.start("ticket.purchase")}, then
+ * {@code laps.lap("reserve")} after each stage and {@code laps.stop()} in a
+ * finally block, which also records the {@code total} stage.
+ *
+ * When tracing is on, each execution is also a span named after the operation
+ * with one child span per stage, so a slow request can be broken down in the
+ * {@code traces} endpoint instead of only in the aggregate percentiles.
+ */
+@Component
+public class StageTimer {
+    
+    static final String METRIC = "hotpath.latency";
+    
+    static final String TOTAL = "total";
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Autowired(required = false)
+    private Tracer tracer;
+    
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+    
+    public Laps start(String operation) {
+        return new Laps(operation);
+    }
+    
+    public void record(String operation, String stage, long nanos) {
+        timers.computeIfAbsent(operation + '|' + stage, key -> Timer.builder(METRIC)
+                .tag("operation", operation)
+                .tag("stage", stage)
+                .publishPercentiles(0.5, 0.9, 0.99)
+                .register(meterRegistry))
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+    
+    /**
+     * Stopwatch for one execution of an operation. Not thread-safe; use it on
+     * the thread that runs the operation.
+     */
+    public final class Laps {
+        
+        private final String operation;
+        
+        private final long startedAt;
+        
+        private long lapStartedAt;
+        
+        // Maps nanoTime readings onto the epoch clock for the stage spans
+        private final long epochOffsetNanos;
+        
+        private final Span span;
+        
+        private final Tracer.SpanInScope scope;
+        
+        private Laps(String operation) {
+            this.operation = operation;
+            this.startedAt = System.nanoTime();
+            this.lapStartedAt = startedAt;
+            this.epochOffsetNanos = TimeUnit.MILLISECONDS.toNanos(System.currentTimeMillis()) - startedAt;
+            if (tracer != null) {
+                this.span = tracer.nextSpan().name(operation).start();
+                this.scope = tracer.withSpan(span);
+            } else {
+                this.span = null;
+                this.scope = null;
+            }
+        }
+        
+        public void lap(String stage) {
+            long now = System.nanoTime();
+            record(operation, stage, now - lapStartedAt);
+            if (span != null) {
+                // Stages run back to back, so the child span is reconstructed after the fact
+                tracer.spanBuilder()
+                        .setParent(span.context())
+                        .name(operation + "." + stage)
+                        .startTimestamp(epochOffsetNanos + lapStartedAt, TimeUnit.NANOSECONDS)
+                        .start()
+                        .end(epochOffsetNanos + now, TimeUnit.NANOSECONDS);
+            }
+            lapStartedAt = now;
+        }
+        
+        public void stop() {
+            record(operation, TOTAL, System.nanoTime() - startedAt);
+            if (span != null) {
+                scope.close();
+                span.end();
+            }
+        }
+    }
+} 
\ No newline at end of file
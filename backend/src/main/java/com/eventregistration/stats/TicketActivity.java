@@ -0,0 +1,17 @@
+package com.eventregistration.stats;
+
+import com.eventregistration.model.Ticket;
+
+import java.time.LocalDateTime;
+
+/**
+ * Ticket timestamps read when backfilling {@link TicketSalesTimeSeries}.
+ */
+public record TicketActivity(
+        Long id,
+        Long eventId,
+        Ticket.TicketStatus status,
+        LocalDateTime purchasedAt,
+        LocalDateTime validatedAt,
+        LocalDateTime updatedAt) {
+} 
\ No newline at end of file
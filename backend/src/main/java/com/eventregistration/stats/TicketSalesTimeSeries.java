@@ -0,0 +1,216 @@
+package com.eventregistration.stats;
+
+import com.eventregistration.model.Ticket;
+import com.eventregistration.repository.TicketRepository;
+import com.eventregistration.service.TicketChangedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-minute, per-hour and per-day ticket purchase, validation and cancellation
+ * counts, kept globally and per event in {@link RingCounter}s.
+ *
+ * A window query uses the finest resolution that still retains the window's
+ * start, so results are exact to that resolution. Per-event series keep
+ * shorter histories than the global one to bound memory per event, and an
+ * event's series is evicted once all of its activity has aged out of them.
+ *
+ * Live changes are recorded from {@link TicketChangedEvent} after commit. On
+ * startup, tickets with activity before the live cut-over are backfilled from
+ * the database, so nothing is counted twice.
+ */
+@Component
+public class TicketSalesTimeSeries {
+    
+    private static final Logger logger = LoggerFactory.getLogger(TicketSalesTimeSeries.class);
+    
+    public enum Metric {
+        PURCHASED, VALIDATED, CANCELLED
+    }
+    
+    public enum Resolution {
+        MINUTE(1), HOUR(60), DAY(1440);
+        
+        private final long minutes;
+        
+        Resolution(long minutes) {
+            this.minutes = minutes;
+        }
+    }
+    
+    // Retained buckets per resolution: minute, hour, day
+    private static final int[] GLOBAL_RETENTION = {24 * 60, 35 * 24, 400};
+    
+    private static final int[] EVENT_RETENTION = {60, 8 * 24, 90};
+    
+    private static final int BACKFILL_BATCH_SIZE = 5000;
+    
+    @Autowired
+    private TicketRepository ticketRepository;
+    
+    private final Series global = new Series(GLOBAL_RETENTION);
+    
+    private final Map<Long, Series> byEvent = new ConcurrentHashMap<>();
+    
+    // Activity before this instant comes from the backfill, after it from live events
+    private final LocalDateTime liveSince = LocalDateTime.now();
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        long start = System.currentTimeMillis();
+        LocalDateTime since = liveSince.minusDays(GLOBAL_RETENTION[2]);
+        long afterId = 0;
+        int rows = 0;
+        List<TicketActivity> batch;
+        do {
+            batch = ticketRepository.findActivitySince(since, afterId, PageRequest.of(0, BACKFILL_BATCH_SIZE));
+            for (TicketActivity activity : batch) {
+                backfill(activity);
+                afterId = activity.id();
+            }
+            rows += batch.size();
+        } while (batch.size() == BACKFILL_BATCH_SIZE);
+        logger.info("Backfilled ticket time series from {} tickets in {} ms", rows, System.currentTimeMillis() - start);
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTicketChanged(TicketChangedEvent change) {
+        if (change.getOccurredAt() == null || change.getOccurredAt().isBefore(liveSince)) {
+            return;
+        }
+        Metric metric = switch (change.getChangeType()) {
+            case PURCHASED -> Metric.PURCHASED;
+            case VALIDATED -> Metric.VALIDATED;
+            case CANCELLED -> Metric.CANCELLED;
+        };
+        record(change.getEventId(), metric, change.getOccurredAt());
+    }
+    
+    /**
+     * Drops per-event series whose newest activity is older than the longest
+     * per-event retention; they would only read as zeros.
+     */
+    @Scheduled(fixedDelayString = "${admin.stats.time-series-sweep-interval-ms:3600000}")
+    public void evictExpired() {
+        long oldestRetainedDay = epochMinute(LocalDateTime.now()) / Resolution.DAY.minutes
+                - EVENT_RETENTION[Resolution.DAY.ordinal()] + 1;
+        int before = byEvent.size();
+        // Inside the entry lock, so a concurrent record cannot land in a series being removed
+        byEvent.keySet().forEach(eventId -> byEvent.computeIfPresent(eventId, (id, series) ->
+                series.lastMinute / Resolution.DAY.minutes < oldestRetainedDay ? null : series));
+        int evicted = before - byEvent.size();
+        if (evicted > 0) {
+            logger.debug("Evicted {} expired per-event ticket series", evicted);
+        }
+    }
+    
+    /**
+     * Count of {@code metric} in [from, now], globally or for one event.
+     */
+    public long count(Long eventId, Metric metric, LocalDateTime from) {
+        Series series = series(eventId);
+        if (series == null) {
+            return 0;
+        }
+        long nowMinute = epochMinute(LocalDateTime.now());
+        long fromMinute = epochMinute(from);
+        for (Resolution resolution : Resolution.values()) {
+            RingCounter counter = series.counter(metric, resolution);
+            long to = nowMinute / resolution.minutes;
+            long first = fromMinute / resolution.minutes;
+            if (to - first < counter.capacity() || resolution == Resolution.DAY) {
+                return counter.sum(first, to);
+            }
+        }
+        return 0;
+    }
+    
+    /**
+     * The last {@code points} buckets at the given resolution, oldest first.
+     */
+    public long[] sparkline(Long eventId, Metric metric, Resolution resolution, int points) {
+        Series series = series(eventId);
+        if (series == null) {
+            return new long[points];
+        }
+        RingCounter counter = series.counter(metric, resolution);
+        return counter.series(epochMinute(LocalDateTime.now()) / resolution.minutes,
+                Math.min(points, counter.capacity()));
+    }
+    
+    private void backfill(TicketActivity activity) {
+        if (activity.purchasedAt() != null && activity.purchasedAt().isBefore(liveSince)) {
+            record(activity.eventId(), Metric.PURCHASED, activity.purchasedAt());
+        }
+        if (activity.validatedAt() != null && activity.validatedAt().isBefore(liveSince)) {
+            record(activity.eventId(), Metric.VALIDATED, activity.validatedAt());
+        }
+        // Tickets have no cancellation timestamp; the last update is when the status changed
+        if (activity.status() == Ticket.TicketStatus.CANCELLED && activity.updatedAt() != null &&
+            activity.updatedAt().isBefore(liveSince)) {
+            record(activity.eventId(), Metric.CANCELLED, activity.updatedAt());
+        }
+    }
+    
+    private void record(Long eventId, Metric metric, LocalDateTime at) {
+        long minute = epochMinute(at);
+        global.add(metric, minute);
+        if (eventId != null) {
+            byEvent.compute(eventId, (id, series) -> {
+                Series target = series != null ? series : new Series(EVENT_RETENTION);
+                target.add(metric, minute);
+                return target;
+            });
+        }
+    }
+    
+    private Series series(Long eventId) {
+        return eventId == null ? global : byEvent.get(eventId);
+    }
+    
+    private static long epochMinute(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toEpochSecond() / 60;
+    }
+    
+    private static final class Series {
+        
+        // Indexed [metric][resolution]
+        private final RingCounter[][] counters;
+        
+        // Newest epoch minute recorded; per-event series only write it inside their byEvent entry lock
+        private volatile long lastMinute;
+        
+        private Series(int[] retention) {
+            counters = new RingCounter[Metric.values().length][Resolution.values().length];
+            for (Metric metric : Metric.values()) {
+                for (Resolution resolution : Resolution.values()) {
+                    counters[metric.ordinal()][resolution.ordinal()] = new RingCounter(retention[resolution.ordinal()]);
+                }
+            }
+        }
+        
+        private RingCounter counter(Metric metric, Resolution resolution) {
+            return counters[metric.ordinal()][resolution.ordinal()];
+        }
+        
+        private void add(Metric metric, long epochMinute) {
+            lastMinute = Math.max(lastMinute, epochMinute);
+            for (Resolution resolution : Resolution.values()) {
+                counter(metric, resolution).add(epochMinute / resolution.minutes, 1);
+            }
+        }
+    }
+} 
\ No newline at end of file
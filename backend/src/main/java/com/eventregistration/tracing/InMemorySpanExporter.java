@@ -0,0 +1,61 @@
+package com.eventregistration.tracing;
+
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Keeps the most recent finished spans in memory for the {@code traces}
+ * actuator endpoint and for tests. The OpenTelemetry SDK feeds it through a
+ * batch processor, off the request threads; the oldest spans are dropped past
+ * {@code tracing.in-memory.max-spans}.
+ */
+@Component
+public class InMemorySpanExporter implements SpanExporter {
+    
+    @Value("${tracing.in-memory.max-spans:10000}")
+    private int maxSpans;
+    
+    private final ConcurrentLinkedDeque<SpanData> spans = new ConcurrentLinkedDeque<>();
+    
+    private final AtomicInteger size = new AtomicInteger();
+    
+    @Override
+    public CompletableResultCode export(Collection<SpanData> batch) {
+        for (SpanData span : batch) {
+            spans.addLast(span);
+            if (size.incrementAndGet() > maxSpans && spans.pollFirst() != null) {
+                size.decrementAndGet();
+            }
+        }
+        return CompletableResultCode.ofSuccess();
+    }
+    
+    @Override
+    public CompletableResultCode flush() {
+        return CompletableResultCode.ofSuccess();
+    }
+    
+    @Override
+    public CompletableResultCode shutdown() {
+        reset();
+        return CompletableResultCode.ofSuccess();
+    }
+    
+    public List<SpanData> getSpans() {
+        return new ArrayList<>(spans);
+    }
+    
+    public void reset() {
+        spans.clear();
+        size.set(0);
+    }
+} 
\ No newline at end of file
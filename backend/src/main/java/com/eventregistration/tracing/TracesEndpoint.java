@@ -0,0 +1,70 @@
+package com.eventregistration.tracing;
+
+import io.opentelemetry.sdk.trace.data.SpanData;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * {@code /actuator/traces}: recent traces from {@link InMemorySpanExporter},
+ * slowest first, with each span's offset and duration inside its trace. Meant
+ * for finding which stage a tail-latency request spent its time in.
+ */
+@Component
+@Endpoint(id = "traces")
+public class TracesEndpoint {
+    
+    private static final int DEFAULT_LIMIT = 20;
+    
+    @Autowired
+    private InMemorySpanExporter spanExporter;
+    
+    @ReadOperation
+    public List<Map<String, Object>> traces(@Nullable Integer limit, @Nullable Long minDurationMs) {
+        Map<String, List<SpanData>> byTrace = spanExporter.getSpans().stream()
+                .collect(Collectors.groupingBy(SpanData::getTraceId));
+        
+        List<Map<String, Object>> traces = new ArrayList<>();
+        for (Map.Entry<String, List<SpanData>> trace : byTrace.entrySet()) {
+            List<SpanData> spans = trace.getValue();
+            spans.sort(Comparator.comparingLong(SpanData::getStartEpochNanos));
+            long start = spans.get(0).getStartEpochNanos();
+            long end = spans.stream().mapToLong(SpanData::getEndEpochNanos).max().orElse(start);
+            double durationMs = (end - start) / 1_000_000.0;
+            if (minDurationMs != null && durationMs < minDurationMs) {
+                continue;
+            }
+            
+            List<Map<String, Object>> spanViews = new ArrayList<>(spans.size());
+            for (SpanData span : spans) {
+                Map<String, Object> view = new LinkedHashMap<>();
+                view.put("name", span.getName());
+                view.put("spanId", span.getSpanId());
+                view.put("parentSpanId", span.getParentSpanId());
+                view.put("offsetMs", (span.getStartEpochNanos() - start) / 1_000_000.0);
+                view.put("durationMs", (span.getEndEpochNanos() - span.getStartEpochNanos()) / 1_000_000.0);
+                view.put("status", span.getStatus().getStatusCode().name());
+                spanViews.add(view);
+            }
+            
+            Map<String, Object> view = new LinkedHashMap<>();
+            view.put("traceId", trace.getKey());
+            view.put("root", spans.get(0).getName());
+            view.put("durationMs", durationMs);
+            view.put("spans", spanViews);
+            traces.add(view);
+        }
+        
+        traces.sort(Comparator.comparingDouble(view -> -((Double) view.get("durationMs"))));
+        return traces.subList(0, Math.min(traces.size(), limit != null ? limit : DEFAULT_LIMIT));
+    }
+} 
\ No newline at end of file
@@ -0,0 +1,88 @@
+package com.eventregistration.controller;
+
+import com.eventregistration.model.User;
+import com.eventregistration.repository.UserRepository;
+import com.eventregistration.service.ExportPermits;
+import com.eventregistration.service.JwtService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "exports.max-concurrent=2")
+@AutoConfigureMockMvc
+class ExportLimitTest {
+    
+    @Autowired
+    private MockMvc mockMvc;
+    
+    @Autowired
+    private ExportPermits exportPermits;
+    
+    @Autowired
+    private RequestMappingHandlerAdapter handlerAdapter;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private JwtService jwtService;
+    
+    private String accessToken;
+    
+    @BeforeEach
+    void setUp() {
+        User admin = userRepository.save(new User("export-" + System.nanoTime(), System.nanoTime() + "@example.com",
+                "unused", "Export", "Admin", User.Role.ADMIN));
+        accessToken = jwtService.issueTokens(admin).getAccessToken();
+    }
+    
+    @Test
+    void streamingBodiesRunOnTheirOwnPool() {
+        Object executor = ReflectionTestUtils.getField(handlerAdapter, "taskExecutor");
+        
+        assertThat(executor).isInstanceOf(ThreadPoolTaskExecutor.class);
+        assertThat(((ThreadPoolTaskExecutor) executor).getThreadNamePrefix()).isEqualTo("mvc-stream-");
+    }
+    
+    @Test
+    void exportsBeyondTheCapAreTurnedAwayUntilOneFinishes() throws Exception {
+        List<StreamingResponseBody> running = new ArrayList<>();
+        Optional<StreamingResponseBody> held;
+        while ((held = exportPermits.acquire(out -> { })).isPresent()) {
+            running.add(held.get());
+        }
+        assertThat(running).hasSize(2);
+        
+        mockMvc.perform(get("/admin/users/export").header("Authorization", "Bearer " + accessToken))
+                .andExpect(status().isServiceUnavailable());
+        
+        for (StreamingResponseBody body : running) {
+            body.writeTo(new ByteArrayOutputStream());
+        }
+        MvcResult result = mockMvc.perform(get("/admin/users/export").header("Authorization", "Bearer " + accessToken))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result)).andExpect(status().isOk());
+        
+        assertThat(exportPermits.available()).isEqualTo(2);
+    }
+} 
@@ -0,0 +1,90 @@
+package com.eventregistration.controller;
+
+import com.eventregistration.model.Event;
+import com.eventregistration.model.Ticket;
+import com.eventregistration.model.User;
+import com.eventregistration.repository.EventRepository;
+import com.eventregistration.repository.TicketRepository;
+import com.eventregistration.repository.UserRepository;
+import com.eventregistration.service.JwtService;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Runs the ticket list with the SQL budget enforced, so a lazy load per row or
+ * extra round trips fail the build instead of only showing up in metrics.
+ */
+@SpringBootTest(properties = {
+        "sql.budget.enforce=true",
+        "sql.budget.max-statements=2",
+        "sql.budget.n-plus-one-threshold=3"
+})
+@AutoConfigureMockMvc
+class TicketQueryBudgetTest {
+    
+    private static final int TICKETS = 5;
+    
+    @Autowired
+    private MockMvc mockMvc;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private EventRepository eventRepository;
+    
+    @Autowired
+    private TicketRepository ticketRepository;
+    
+    @Autowired
+    private JwtService jwtService;
+    
+    private String accessToken;
+    
+    @BeforeEach
+    void setUp() {
+        User user = userRepository.save(new User("budget-" + System.nanoTime(), System.nanoTime() + "@example.com",
+                "unused", "Budget", "Tester", User.Role.USER));
+        User organizer = userRepository.save(new User("organizer-" + System.nanoTime(),
+                "organizer" + System.nanoTime() + "@example.com", "unused", "Org", "Anizer", User.Role.ADMIN));
+        // One event per ticket, so loading events row by row would repeat a statement
+        for (int i = 0; i < TICKETS; i++) {
+            Event event = new Event("Event " + i, null, "Hall", LocalDateTime.now().plusDays(i + 1),
+                    LocalDateTime.now().plusDays(i + 2), 100, BigDecimal.TEN, null);
+            event.setOrganizer(organizer);
+            event.setStatus(Event.EventStatus.PUBLISHED);
+            ticketRepository.save(new Ticket(eventRepository.save(event), user));
+        }
+        accessToken = jwtService.issueTokens(user).getAccessToken();
+    }
+    
+    @Test
+    void myTicketsStaysWithinTheSqlBudget() throws Exception {
+        mockMvc.perform(get("/tickets/my-tickets").header("Authorization", "Bearer " + accessToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(TICKETS))
+                .andExpect(jsonPath("$.content[0].eventTitle").exists());
+        
+        DistributionSummary statements = meterRegistry.find("http.server.requests.queries")
+                .tag("uri", "/tickets/my-tickets").summary();
+        assertThat(statements).isNotNull();
+        assertThat(statements.max()).isLessThanOrEqualTo(2);
+    }
+} 
\ No newline at end of file
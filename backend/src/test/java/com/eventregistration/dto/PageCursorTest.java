@@ -0,0 +1,76 @@
+package com.eventregistration.dto;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PageCursorTest {
+    
+    @Test
+    void dateTimeCursorRoundTrips() {
+        LocalDateTime start = LocalDateTime.of(2026, 5, 1, 18, 30, 15, 123_000_000);
+        
+        PageCursor decoded = PageCursor.decode(PageCursor.of(start, 42L).encode());
+        
+        assertThat(decoded.getDateTime()).isEqualTo(start);
+        assertThat(decoded.getId()).isEqualTo(42L);
+    }
+    
+    @Test
+    void scoreCursorRoundTripsExactly() {
+        float score = 3.1415927f;
+        
+        PageCursor decoded = PageCursor.decode(PageCursor.of(score, 7L).encode());
+        
+        assertThat(decoded.getScore()).isEqualTo(score);
+        assertThat(decoded.getId()).isEqualTo(7L);
+    }
+    
+    @Test
+    void idOnlyCursorRoundTrips() {
+        assertThat(PageCursor.decode(PageCursor.of(Long.MAX_VALUE).encode()).getId()).isEqualTo(Long.MAX_VALUE);
+    }
+    
+    @Test
+    void encodedCursorIsUrlSafe() {
+        String encoded = PageCursor.of(LocalDateTime.of(2026, 12, 31, 23, 59), 999_999L).encode();
+        
+        assertThat(encoded).matches("[A-Za-z0-9_-]+");
+    }
+    
+    @Test
+    void blankCursorMeansFirstPage() {
+        assertThat(PageCursor.decode(null)).isNull();
+        assertThat(PageCursor.decode(" ")).isNull();
+    }
+    
+    @Test
+    void malformedCursorsAreRejected() {
+        assertThatThrownBy(() -> PageCursor.decode("not base64!")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> PageCursor.decode(PageCursor.of(5L).encode()).getDateTime())
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> PageCursor.decode(PageCursor.of(1.5f, 5L).encode()).getDateTime())
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+    
+    @Test
+    void cursorPageReturnsLimitRowsAndPointsAtTheLastOne() {
+        CursorPage<Long> page = CursorPage.of(List.of(1L, 2L, 3L, 4L), 3, PageCursor::of);
+        
+        assertThat(page.getItems()).containsExactly(1L, 2L, 3L);
+        assertThat(page.isHasMore()).isTrue();
+        assertThat(PageCursor.decode(page.getNextCursor()).getId()).isEqualTo(3L);
+    }
+    
+    @Test
+    void lastCursorPageHasNoNextCursor() {
+        CursorPage<Long> page = CursorPage.of(List.of(1L, 2L), 3, PageCursor::of);
+        
+        assertThat(page.getItems()).containsExactly(1L, 2L);
+        assertThat(page.getNextCursor()).isNull();
+    }
+} 
\ No newline at end of file
@@ -0,0 +1,68 @@
+package com.eventregistration.repository;
+
+import com.eventregistration.dto.CursorPage;
+import com.eventregistration.dto.EventSummary;
+import com.eventregistration.dto.PageCursor;
+import com.eventregistration.model.Event;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+class EventRepositoryKeysetTest {
+    
+    private static final int PAGE_SIZE = 4;
+    
+    @Autowired
+    private EventRepository eventRepository;
+    
+    private final List<Event> available = new ArrayList<>();
+    
+    @BeforeEach
+    void setUp() {
+        LocalDateTime base = LocalDateTime.of(2030, 1, 1, 10, 0);
+        for (int i = 0; i < 15; i++) {
+            // Groups of three share a start time, so pages must break ties by id
+            Event event = new Event("Event " + i, null, "Hall", base.plusHours(i / 3),
+                    base.plusHours(i / 3 + 2), 100, BigDecimal.TEN, null);
+            event.setStatus(i % 5 == 4 ? Event.EventStatus.DRAFT : Event.EventStatus.PUBLISHED);
+            event = eventRepository.save(event);
+            if (event.getStatus() == Event.EventStatus.PUBLISHED) {
+                available.add(event);
+            }
+        }
+        available.sort(Comparator.comparing(Event::getStartDateTime).thenComparing(Event::getId));
+    }
+    
+    @Test
+    void cursorPagesVisitEveryRowOnceInOrder() {
+        List<Long> seen = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            PageCursor after = PageCursor.decode(cursor);
+            List<EventSummary> rows = after == null
+                    ? eventRepository.findAvailableEvents(PageRequest.of(0, PAGE_SIZE + 1))
+                    : eventRepository.findAvailableEventsAfter(after.getDateTime(), after.getId(),
+                            PageRequest.of(0, PAGE_SIZE + 1));
+            CursorPage<EventSummary> page = CursorPage.of(rows, PAGE_SIZE,
+                    event -> PageCursor.of(event.startDateTime(), event.id()));
+            page.getItems().forEach(event -> seen.add(event.id()));
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+        
+        assertThat(seen).containsExactlyElementsOf(available.stream().map(Event::getId).toList());
+        assertThat(pages).isEqualTo((available.size() + PAGE_SIZE - 1) / PAGE_SIZE);
+    }
+} 
\ No newline at end of file
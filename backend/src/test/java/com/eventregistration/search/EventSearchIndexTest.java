@@ -0,0 +1,158 @@
+package com.eventregistration.search;
+
+import com.eventregistration.model.Event;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EventSearchIndexTest {
+    
+    private EventSearchIndex index;
+    
+    @BeforeEach
+    void setUp() {
+        index = new EventSearchIndex();
+    }
+    
+    @Test
+    void allTermsMustMatchAndTheLastOneAsAPrefix() {
+        index.index(event(1, "Jazz Night", "Downtown", "music"));
+        index.index(event(2, "Jazz Brunch", "Harbor", "food"));
+        index.index(event(3, "Rock Night", "Downtown", "music"));
+        
+        assertThat(eventIds("jazz ni")).containsExactly(1L);
+        assertThat(eventIds("night")).containsExactlyInAnyOrder(1L, 3L);
+        assertThat(eventIds("jaz")).containsExactlyInAnyOrder(1L, 2L);
+        // A trailing space means the last word is complete
+        assertThat(eventIds("jaz ")).isEmpty();
+    }
+    
+    @Test
+    void titleMatchesOutrankOtherFields() {
+        index.index(event(1, "Summer Fair", "Riverside", "jazz"));
+        index.index(event(2, "Jazz Festival", "Riverside", "music"));
+        
+        assertThat(eventIds("jazz")).containsExactly(2L, 1L);
+    }
+    
+    @Test
+    void reindexingReplacesTheOldDocument() {
+        index.index(event(1, "Jazz Night", "Downtown", "music"));
+        index.index(event(1, "Poetry Evening", "Downtown", "arts"));
+        
+        assertThat(eventIds("jazz")).isEmpty();
+        assertThat(eventIds("poetry")).containsExactly(1L);
+    }
+    
+    @Test
+    void removedEventsStopMatching() {
+        index.index(event(1, "Jazz Night", "Downtown", "music"));
+        index.index(event(2, "Jazz Brunch", "Harbor", "food"));
+        
+        index.remove(1L);
+        
+        assertThat(eventIds("jazz")).containsExactly(2L);
+        assertThat(index.searchAfter("jazz", null, 10).getTotalHits()).isEqualTo(1);
+    }
+    
+    @Test
+    void compactionKeepsHitsAndScores() {
+        EventSearchIndex reference = new EventSearchIndex();
+        for (long id = 1; id <= 50; id++) {
+            Event event = event(id, "Event " + (id % 2 == 0 ? "Jazz" : "Rock") + " " + id, "Hall " + id, "music");
+            index.index(event);
+            reference.index(event);
+        }
+        // Enough tombstones to cross the compaction threshold several times
+        for (int round = 0; round < 100; round++) {
+            for (long id = 1; id <= 50; id++) {
+                index.index(event(id, "Event " + (id % 2 == 0 ? "Jazz" : "Rock") + " " + id, "Hall " + id, "music"));
+            }
+        }
+        
+        SearchResult compacted = index.searchAfter("jazz", null, 100);
+        SearchResult expected = reference.searchAfter("jazz", null, 100);
+        assertThat(compacted.getTotalHits()).isEqualTo(25);
+        assertThat(compacted.getHits()).hasSameSizeAs(expected.getHits());
+        for (int i = 0; i < expected.getHits().size(); i++) {
+            assertThat(compacted.getHits().get(i).getEventId()).isEqualTo(expected.getHits().get(i).getEventId());
+            assertThat(compacted.getHits().get(i).getScore()).isEqualTo(expected.getHits().get(i).getScore());
+        }
+    }
+    
+    @Test
+    void tombstonesBelowTheCompactionThresholdDoNotChangeScores() {
+        EventSearchIndex reference = new EventSearchIndex();
+        for (long id = 1; id <= 20; id++) {
+            Event event = event(id, (id % 3 == 0 ? "Jazz" : "Rock") + " Night " + id, "Hall", "music");
+            index.index(event);
+            reference.index(event);
+        }
+        // Retitle some events away from jazz and back again, leaving tombstones in the jazz list
+        for (long id = 3; id <= 18; id += 3) {
+            index.index(event(id, "Folk Night " + id, "Hall", "music"));
+            index.index(event(id, "Jazz Night " + id, "Hall", "music"));
+        }
+        
+        SearchResult expected = reference.searchAfter("jazz", null, 10);
+        SearchResult actual = index.searchAfter("jazz", null, 10);
+        assertThat(actual.getTotalHits()).isEqualTo(expected.getTotalHits());
+        for (int i = 0; i < expected.getHits().size(); i++) {
+            assertThat(actual.getHits().get(i).getScore()).isEqualTo(expected.getHits().get(i).getScore());
+        }
+        assertThat(eventIds("folk")).isEmpty();
+    }
+    
+    @Test
+    void pagingAfterTheLastHitVisitsEveryMatchOnce() {
+        for (long id = 1; id <= 30; id++) {
+            index.index(event(id, "Jazz " + "night ".repeat((int) (id % 4)), "Downtown", "music"));
+        }
+        
+        List<Long> seen = new ArrayList<>();
+        SearchHit after = null;
+        do {
+            List<SearchHit> hits = index.searchAfter("jazz", after, 7).getHits();
+            if (hits.isEmpty()) {
+                break;
+            }
+            hits.forEach(hit -> seen.add(hit.getEventId()));
+            after = hits.get(hits.size() - 1);
+        } while (true);
+        
+        assertThat(seen).hasSize(30).doesNotHaveDuplicates();
+    }
+    
+    @Test
+    void pooledScratchIsResetBetweenQueries() {
+        index.index(event(1, "Jazz Night", "Downtown", "music"));
+        index.index(event(2, "Rock Night", "Harbor", "music"));
+        
+        float first = index.searchAfter("jazz", null, 10).getHits().get(0).getScore();
+        index.searchAfter("night", null, 10);
+        float again = index.searchAfter("jazz", null, 10).getHits().get(0).getScore();
+        
+        assertThat(again).isEqualTo(first);
+        assertThat(eventIds("rock")).containsExactly(2L);
+    }
+    
+    private List<Long> eventIds(String query) {
+        return index.searchAfter(query, null, 10).getHits().stream()
+                .map(SearchHit::getEventId)
+                .toList();
+    }
+    
+    private static Event event(long id, String title, String location, String category) {
+        Event event = new Event(title, null, location, LocalDateTime.now().plusDays(1),
+                LocalDateTime.now().plusDays(2), 100, BigDecimal.TEN, null);
+        event.setId(id);
+        event.setCategory(category);
+        return event;
+    }
+} 
\ No newline at end of file
@@ -0,0 +1,86 @@
+package com.eventregistration.search;
+
+import com.eventregistration.dto.EventSummary;
+import com.eventregistration.model.Event;
+import com.eventregistration.service.EventChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EventTimeIndexTest {
+    
+    private EventTimeIndex index;
+    
+    private final LocalDateTime now = LocalDateTime.now();
+    
+    @BeforeEach
+    void setUp() {
+        index = new EventTimeIndex();
+    }
+    
+    @Test
+    void sweepEvictsEndedEvents() {
+        // Indexed while still running, then the sweep comes round after it ended
+        ReflectionTestUtils.invokeMethod(index, "put", EventSummary.from(
+                event(1, Event.EventStatus.PUBLISHED, now.minusDays(2), now.minusDays(1))));
+        changed(event(2, Event.EventStatus.PUBLISHED, now.minusHours(1), now.plusHours(1)));
+        
+        index.evictEnded();
+        
+        assertThat(index.findStartingBetween(now.minusDays(3), now.plusDays(1), 10))
+                .extracting(EventSummary::id).containsExactly(2L);
+        assertThat(maxDuration()).isEqualTo(Duration.ofHours(2));
+    }
+    
+    @Test
+    void endedEventsAreNotIndexed() {
+        changed(event(1, Event.EventStatus.PUBLISHED, now.minusDays(2), now.minusDays(1)));
+        
+        assertThat(index.findStartingBetween(now.minusDays(3), now, 10)).isEmpty();
+        assertThat(maxDuration()).isZero();
+    }
+    
+    @Test
+    void happeningNowBoundShrinksWhenTheLongestEventGoes() {
+        changed(event(1, Event.EventStatus.PUBLISHED, now.minusDays(1), now.plusDays(6)));
+        changed(event(2, Event.EventStatus.PUBLISHED, now.minusHours(1), now.plusHours(2)));
+        changed(event(3, Event.EventStatus.PUBLISHED, now.plusHours(1), now.plusHours(4)));
+        assertThat(maxDuration()).isEqualTo(Duration.ofDays(7));
+        
+        changed(event(1, Event.EventStatus.CANCELLED, now.minusDays(1), now.plusDays(6)));
+        
+        assertThat(maxDuration()).isEqualTo(Duration.ofHours(3));
+        assertThat(index.findHappeningAt(now, 10)).extracting(EventSummary::id).containsExactly(2L);
+    }
+    
+    @Test
+    void rescheduledEventsReplaceTheirOldDuration() {
+        changed(event(1, Event.EventStatus.PUBLISHED, now.plusDays(1), now.plusDays(3)));
+        changed(event(1, Event.EventStatus.PUBLISHED, now.plusDays(1), now.plusDays(1).plusHours(2)));
+        
+        assertThat(maxDuration()).isEqualTo(Duration.ofHours(2));
+    }
+    
+    private void changed(Event event) {
+        index.onEventChanged(new EventChangedEvent(event, EventChangedEvent.ChangeType.UPDATED,
+                Event.EventStatus.PUBLISHED, null, 10, event.getStartDateTime()));
+    }
+    
+    private Duration maxDuration() {
+        return (Duration) ReflectionTestUtils.getField(index, "maxDuration");
+    }
+    
+    private static Event event(long id, Event.EventStatus status, LocalDateTime start, LocalDateTime end) {
+        Event event = new Event("Event " + id, null, "Downtown", start, end, 100, BigDecimal.TEN, null);
+        event.setId(id);
+        event.setStatus(status);
+        event.setAvailableTickets(10);
+        return event;
+    }
+} 
\ No newline at end of file
@@ -0,0 +1,136 @@
+package com.eventregistration.security;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenRevocationListTest {
+    
+    private static final long HOUR_MS = 3_600_000L;
+    
+    private TokenRevocationList revocationList;
+    
+    private long expiresAt;
+    
+    @BeforeEach
+    void setUp() {
+        revocationList = new TokenRevocationList();
+        expiresAt = System.currentTimeMillis() + HOUR_MS;
+    }
+    
+    @Test
+    void rotationAdvancesTheCurrentGeneration() {
+        revocationList.startSession("s1", expiresAt);
+        
+        assertThat(revocationList.rotateSession("s1", 0, expiresAt)).isEqualTo(1);
+        assertThat(revocationList.rotateSession("s1", 1, expiresAt)).isEqualTo(2);
+        assertThat(revocationList.isSessionRevoked("s1")).isFalse();
+    }
+    
+    @Test
+    void replayingARotatedRefreshTokenRevokesTheSession() {
+        revocationList.startSession("s1", expiresAt);
+        revocationList.rotateSession("s1", 0, expiresAt);
+        
+        assertThat(revocationList.rotateSession("s1", 0, expiresAt)).isEqualTo(-1);
+        assertThat(revocationList.isSessionRevoked("s1")).isTrue();
+        // The legitimate holder of generation 1 is locked out as well
+        assertThat(revocationList.rotateSession("s1", 1, expiresAt)).isEqualTo(-1);
+    }
+    
+    @Test
+    void concurrentRotationsOfOneTokenHaveExactlyOneWinner() throws Exception {
+        revocationList.startSession("s1", expiresAt);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Long>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return revocationList.rotateSession("s1", 0, expiresAt);
+                }));
+            }
+            start.countDown();
+            
+            int winners = 0;
+            for (Future<Long> result : results) {
+                if (result.get() == 1) {
+                    winners++;
+                }
+            }
+            assertThat(winners).isEqualTo(1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+    
+    @Test
+    void unknownSessionResumesFromThePresentedGeneration() {
+        assertThat(revocationList.rotateSession("restarted", 4, expiresAt)).isEqualTo(5);
+        assertThat(revocationList.rotateSession("restarted", 5, expiresAt)).isEqualTo(6);
+    }
+    
+    @Test
+    void revokedSessionCannotRotate() {
+        revocationList.startSession("s1", expiresAt);
+        revocationList.revokeSession("s1", expiresAt);
+        
+        assertThat(revocationList.isSessionRevoked("s1")).isTrue();
+        assertThat(revocationList.rotateSession("s1", 0, expiresAt)).isEqualTo(-1);
+    }
+    
+    @Test
+    void revokedTokenIsFoundInItsExpiryBucket() {
+        String jti = UUID.randomUUID().toString();
+        String other = UUID.randomUUID().toString();
+        revocationList.revokeToken(jti, expiresAt);
+        
+        assertThat(revocationList.isTokenRevoked(jti, expiresAt)).isTrue();
+        assertThat(revocationList.isTokenRevoked(other, expiresAt)).isFalse();
+        assertThat(revocationList.isTokenRevoked(null, expiresAt)).isFalse();
+    }
+    
+    @Test
+    void manyRevokedTokensSurviveTableGrowth() {
+        List<String> jtis = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            String jti = i % 2 == 0 ? UUID.randomUUID().toString() : "legacy-" + i;
+            jtis.add(jti);
+            revocationList.revokeToken(jti, expiresAt);
+        }
+        
+        assertThat(jtis).allMatch(jti -> revocationList.isTokenRevoked(jti, expiresAt));
+    }
+    
+    @Test
+    void alreadyExpiredTokensAreNotStored() {
+        String jti = UUID.randomUUID().toString();
+        long expired = System.currentTimeMillis() - 1;
+        revocationList.revokeToken(jti, expired);
+        
+        assertThat(revocationList.isTokenRevoked(jti, expired)).isFalse();
+    }
+    
+    @Test
+    void purgeDropsExpiredSessions() {
+        revocationList.startSession("expired", System.currentTimeMillis() - 1);
+        revocationList.revokeSession("expired", System.currentTimeMillis() - 1);
+        revocationList.startSession("live", expiresAt);
+        revocationList.revokeSession("live", expiresAt);
+        
+        revocationList.purgeExpired();
+        
+        assertThat(revocationList.isSessionRevoked("expired")).isFalse();
+        assertThat(revocationList.isSessionRevoked("live")).isTrue();
+    }
+} 
\ No newline at end of file
@@ -0,0 +1,71 @@
+package com.eventregistration.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EventCatalogCacheTest {
+    
+    private EventCatalogCache cache;
+    
+    private final AtomicInteger loads = new AtomicInteger();
+    
+    @BeforeEach
+    void setUp() {
+        cache = new EventCatalogCache();
+        ReflectionTestUtils.setField(cache, "ttlMs", 60_000L);
+        ReflectionTestUtils.setField(cache, "maxEntries", 4);
+        ReflectionTestUtils.setField(cache, "cachedLimits", Set.of(20));
+    }
+    
+    @Test
+    void firstPageIsLoadedOnceWithinTheTtl() {
+        cache.getFirstPage(EventCatalogCache.AVAILABLE, 20, this::load);
+        cache.getFirstPage(EventCatalogCache.AVAILABLE, 20, this::load);
+        
+        assertThat(loads).hasValue(1);
+    }
+    
+    @Test
+    void nonStandardPageSizesAreNotCached() {
+        cache.getFirstPage(EventCatalogCache.AVAILABLE, 37, this::load);
+        cache.getFirstPage(EventCatalogCache.AVAILABLE, 37, this::load);
+        
+        assertThat(loads).hasValue(2);
+        assertThat(cache.size()).isZero();
+    }
+    
+    @Test
+    void entryCountStaysWithinTheCap() {
+        for (int i = 0; i < 100; i++) {
+            cache.getFirstPage(EventCatalogCache.CATEGORY_PREFIX + i, 20, this::load);
+        }
+        
+        assertThat(cache.size()).isLessThanOrEqualTo(4);
+    }
+    
+    @Test
+    void expiredEntriesAreSwept() {
+        ReflectionTestUtils.setField(cache, "ttlMs", -1L);
+        cache.getFirstPage(EventCatalogCache.AVAILABLE, 20, this::load);
+        
+        cache.purgeExpired();
+        
+        assertThat(cache.size()).isZero();
+    }
+    
+    @Test
+    void onlyCategoriesSeenInEventsAreKnown() {
+        assertThat(cache.isKnownCategory("music")).isFalse();
+        assertThat(cache.isKnownCategory(null)).isFalse();
+    }
+    
+    private Object load() {
+        return loads.incrementAndGet();
+    }
+} 
\ No newline at end of file
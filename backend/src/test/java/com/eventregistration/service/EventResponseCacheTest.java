@@ -0,0 +1,36 @@
+package com.eventregistration.service;
+
+import com.eventregistration.model.Event;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EventResponseCacheTest {
+    
+    @Test
+    void versionIgnoresPrecisionTheDatabaseDrops() {
+        LocalDateTime written = LocalDateTime.of(2030, 5, 1, 12, 0, 0, 123_456_789);
+        
+        long inMemory = EventResponseCache.version(updatedAt(written));
+        
+        assertThat(EventResponseCache.version(updatedAt(written.truncatedTo(ChronoUnit.MICROS)))).isEqualTo(inMemory);
+        assertThat(EventResponseCache.version(updatedAt(written.truncatedTo(ChronoUnit.MILLIS)))).isEqualTo(inMemory);
+    }
+    
+    @Test
+    void laterWritesGetHigherVersions() {
+        LocalDateTime written = LocalDateTime.of(2030, 5, 1, 12, 0, 0, 123_000_000);
+        
+        assertThat(EventResponseCache.version(updatedAt(written.plus(1, ChronoUnit.MILLIS))))
+                .isGreaterThan(EventResponseCache.version(updatedAt(written)));
+    }
+    
+    private static Event updatedAt(LocalDateTime updatedAt) {
+        Event event = new Event();
+        event.setUpdatedAt(updatedAt);
+        return event;
+    }
+}
@@ -0,0 +1,63 @@
+package com.eventregistration.service;
+
+import com.eventregistration.dto.AuthTokens;
+import com.eventregistration.model.User;
+import com.eventregistration.security.TokenRevocationList;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JwtServiceTest {
+    
+    private JwtService jwtService;
+    
+    private User user;
+    
+    @BeforeEach
+    void setUp() {
+        jwtService = new JwtService();
+        ReflectionTestUtils.setField(jwtService, "jwtSecret", "test-secret-key-that-is-long-enough-for-hs256");
+        ReflectionTestUtils.setField(jwtService, "jwtExpirationMs", 900_000);
+        ReflectionTestUtils.setField(jwtService, "refreshExpirationMs", 604_800_000L);
+        ReflectionTestUtils.setField(jwtService, "revocationList", new TokenRevocationList());
+        ReflectionTestUtils.setField(jwtService, "verifiedCacheMaxEntries", 1000);
+        jwtService.init();
+        
+        user = new User("alice", "alice@example.com", "unused", "Alice", "Doe", User.Role.USER);
+        user.setId(7L);
+    }
+    
+    @Test
+    void rotationIssuesAWorkingPairAndRejectsTheOldRefreshToken() {
+        AuthTokens first = jwtService.issueTokens(user);
+        AuthTokens second = jwtService.rotateTokens(user, first.getRefreshToken());
+        
+        assertThat(jwtService.authenticate(second.getAccessToken())).isNotNull();
+        assertThatThrownBy(() -> jwtService.rotateTokens(user, first.getRefreshToken()))
+                .isInstanceOf(RuntimeException.class);
+        // The replay revoked the session, including the pair issued by the rotation
+        assertThat(jwtService.authenticate(second.getAccessToken())).isNull();
+    }
+    
+    @Test
+    void logoutWithRefreshTokenEndsTheSession() {
+        AuthTokens tokens = jwtService.issueTokens(user);
+        
+        jwtService.revokeRefreshSession(tokens.getRefreshToken());
+        
+        assertThat(jwtService.authenticate(tokens.getAccessToken())).isNull();
+        assertThatThrownBy(() -> jwtService.rotateTokens(user, tokens.getRefreshToken()))
+                .isInstanceOf(RuntimeException.class);
+    }
+    
+    @Test
+    void accessTokenIsNotAcceptedAsRefreshToken() {
+        AuthTokens tokens = jwtService.issueTokens(user);
+        
+        assertThatThrownBy(() -> jwtService.revokeRefreshSession(tokens.getAccessToken()))
+                .isInstanceOf(RuntimeException.class);
+    }
+} 
\ No newline at end of file
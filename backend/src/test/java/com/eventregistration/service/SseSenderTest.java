@@ -0,0 +1,136 @@
+package com.eventregistration.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SseSenderTest {
+    
+    private final SseSender sender = new SseSender("test-fan-out", 1, 50);
+    
+    private final CountDownLatch unblock = new CountDownLatch(1);
+    
+    @AfterEach
+    void tearDown() {
+        unblock.countDown();
+        sender.shutdown();
+    }
+    
+    @Test
+    void stalledSubscriberIsDroppedAndDoesNotBlockOthers() throws Exception {
+        RecordingEmitter slow = new RecordingEmitter(true);
+        RecordingEmitter fast = new RecordingEmitter(false);
+        AtomicInteger slowFailures = new AtomicInteger();
+        
+        sender.send(slow, event("update"), slowFailures::incrementAndGet);
+        assertThat(slow.writing.await(2, TimeUnit.SECONDS)).isTrue();
+        // The only pool thread is now blocked in the slow write
+        sender.send(fast, event("update"), () -> { });
+        Thread.sleep(100);
+        assertThat(fast.received).isEmpty();
+        
+        // The blocked write holds the emitter's monitor, as ResponseBodyEmitter.send does
+        CompletableFuture.runAsync(sender::dropStalled).get(500, TimeUnit.MILLISECONDS);
+        
+        assertThat(fast.delivered.await(2, TimeUnit.SECONDS)).isTrue();
+        assertThat(slowFailures).hasValue(1);
+        assertThat(slow.completed.getCount()).isEqualTo(1);
+        
+        unblock.countDown();
+        assertThat(slow.completed.await(2, TimeUnit.SECONDS)).isTrue();
+    }
+    
+    @Test
+    void updatesForABusySubscriberAreCoalescedToTheLatest() throws Exception {
+        RecordingEmitter slow = new RecordingEmitter(true);
+        
+        sender.send(slow, event("first"), () -> { });
+        assertThat(slow.writing.await(2, TimeUnit.SECONDS)).isTrue();
+        sender.send(slow, event("second"), () -> { });
+        sender.send(slow, event("third"), () -> { });
+        sender.sendIfIdle(slow, event("keep-alive"), () -> { });
+        unblock.countDown();
+        
+        assertThat(slow.delivered.await(2, TimeUnit.SECONDS)).isTrue();
+        Thread.sleep(50);
+        assertThat(slow.received).containsExactly("first", "third");
+    }
+    
+    @Test
+    void failedSendReportsTheSubscriberOnce() throws Exception {
+        SseEmitter broken = new SseEmitter() {
+            @Override
+            public void send(SseEventBuilder builder) throws IOException {
+                throw new IOException("Broken pipe");
+            }
+        };
+        CountDownLatch failed = new CountDownLatch(1);
+        AtomicInteger failures = new AtomicInteger();
+        
+        sender.send(broken, event("update"), () -> {
+            failures.incrementAndGet();
+            failed.countDown();
+        });
+        
+        assertThat(failed.await(2, TimeUnit.SECONDS)).isTrue();
+        sender.dropStalled();
+        assertThat(failures).hasValue(1);
+    }
+    
+    private static Supplier<SseEmitter.SseEventBuilder> event(String name) {
+        return () -> SseEmitter.event().name(name);
+    }
+    
+    private final class RecordingEmitter extends SseEmitter {
+        
+        private final boolean blockFirstWrite;
+        
+        private final List<String> received = new CopyOnWriteArrayList<>();
+        
+        private final CountDownLatch writing = new CountDownLatch(1);
+        
+        private final CountDownLatch delivered = new CountDownLatch(1);
+        
+        private final CountDownLatch completed = new CountDownLatch(1);
+        
+        private RecordingEmitter(boolean blockFirstWrite) {
+            this.blockFirstWrite = blockFirstWrite;
+        }
+        
+        @Override
+        public synchronized void send(SseEventBuilder builder) throws IOException {
+            String name = builder.build().iterator().next().getData().toString().trim();
+            boolean first = writing.getCount() > 0;
+            writing.countDown();
+            if (blockFirstWrite && first) {
+                try {
+                    unblock.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException(e);
+                }
+            }
+            received.add(name.substring(name.indexOf(':') + 1));
+            if (!first || !blockFirstWrite) {
+                delivered.countDown();
+            }
+        }
+        
+        @Override
+        public synchronized void completeWithError(Throwable ex) {
+            super.completeWithError(ex);
+            completed.countDown();
+        }
+    }
+} 
\ No newline at end of file
@@ -0,0 +1,86 @@
+package com.eventregistration.service;
+
+import com.eventregistration.dto.CursorPage;
+import com.eventregistration.dto.UserSummary;
+import com.eventregistration.model.User;
+import com.eventregistration.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+class UserDirectoryTest {
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    private UserService userService;
+    
+    @BeforeEach
+    void setUp() {
+        userService = new UserService();
+        ReflectionTestUtils.setField(userService, "userRepository", userRepository);
+        
+        // Username matches, email-only matches, a user matching both, and non-matches
+        save("alice", "alice@example.com", User.Role.USER);
+        save("alan", "a.turing@example.com", User.Role.ADMIN);
+        save("albert", "bert@example.com", User.Role.USER);
+        save("bob", "alfred@example.com", User.Role.USER);
+        save("carol", "al.carol@example.com", User.Role.ADMIN);
+        save("dave", "dave@example.com", User.Role.USER);
+        save("al_x", "x@example.com", User.Role.USER);
+        save("alyx", "alyx@example.com", User.Role.USER);
+    }
+    
+    @Test
+    void searchPagesListEveryMatchOnceUsernamesFirst() {
+        List<String> seen = usernames("al", null, 2);
+        
+        assertThat(seen).containsExactly("al_x", "alan", "albert", "alice", "alyx", "carol", "bob");
+    }
+    
+    @Test
+    void filtersApplyAcrossBothOrderings() {
+        assertThat(usernames("al", User.Role.ADMIN, 1)).containsExactly("alan", "carol");
+    }
+    
+    @Test
+    void wildcardsInTheSearchAreMatchedLiterally() {
+        assertThat(usernames("al_", null, 10)).containsExactly("al_x");
+    }
+    
+    @Test
+    void withoutASearchPagesFollowIds() {
+        List<Long> ids = new ArrayList<>();
+        String cursor = null;
+        do {
+            CursorPage<UserSummary> page = userService.findUsers(cursor, 3, null, User.Role.USER, null);
+            page.getItems().forEach(user -> ids.add(user.id()));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+        
+        assertThat(ids).hasSize(6).isSorted();
+    }
+    
+    private List<String> usernames(String search, User.Role role, int limit) {
+        List<String> seen = new ArrayList<>();
+        String cursor = null;
+        do {
+            CursorPage<UserSummary> page = userService.findUsers(cursor, limit, search, role, null);
+            page.getItems().forEach(user -> seen.add(user.username()));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+        return seen;
+    }
+    
+    private void save(String username, String email, User.Role role) {
+        userRepository.save(new User(username, email, "unused", "First", "Last", role));
+    }
+} 
\ No newline at end of file
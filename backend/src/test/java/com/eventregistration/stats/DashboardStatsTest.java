@@ -0,0 +1,117 @@
+package com.eventregistration.stats;
+
+import com.eventregistration.model.Event;
+import com.eventregistration.repository.EventRepository;
+import com.eventregistration.repository.TicketRepository;
+import com.eventregistration.repository.UserRepository;
+import com.eventregistration.service.EventChangedEvent;
+import com.eventregistration.service.TicketChangedEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class DashboardStatsTest {
+    
+    private DashboardStats stats;
+    
+    private final EventRepository eventRepository = mock(EventRepository.class);
+    
+    private final TicketRepository ticketRepository = mock(TicketRepository.class);
+    
+    @BeforeEach
+    void setUp() {
+        stats = new DashboardStats();
+        ReflectionTestUtils.setField(stats, "userRepository", mock(UserRepository.class));
+        ReflectionTestUtils.setField(stats, "eventRepository", eventRepository);
+        ReflectionTestUtils.setField(stats, "ticketRepository", ticketRepository);
+    }
+    
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+    
+    @Test
+    void movingAnEventIntoThePastLeavesTheUpcomingCount() {
+        when(eventRepository.countUpcomingEvents(any())).thenReturn(1L);
+        stats.reconcile();
+        Event event = publishedEvent(LocalDateTime.now().minusDays(1));
+        
+        stats.onEventChanged(new EventChangedEvent(event, EventChangedEvent.ChangeType.UPDATED,
+                Event.EventStatus.PUBLISHED, "music", 10, LocalDateTime.now().plusDays(1)));
+        
+        assertThat(stats.getUpcomingEvents()).isZero();
+    }
+    
+    @Test
+    void movingAnEventIntoTheFutureJoinsTheUpcomingCount() {
+        Event event = publishedEvent(LocalDateTime.now().plusDays(1));
+        
+        stats.onEventChanged(new EventChangedEvent(event, EventChangedEvent.ChangeType.UPDATED,
+                Event.EventStatus.PUBLISHED, "music", 10, LocalDateTime.now().minusDays(1)));
+        
+        assertThat(stats.getUpcomingEvents()).isEqualTo(1);
+    }
+    
+    @Test
+    void purchasesAreCountedOnlyOnCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        stats.onTicketChanged(purchase());
+        stats.onTicketChanged(purchase());
+        assertThat(stats.getTotalTickets()).isZero();
+        
+        TransactionSynchronizationUtils.triggerBeforeCommit(false);
+        TransactionSynchronizationUtils.invokeAfterCompletion(
+                TransactionSynchronizationManager.getSynchronizations(), TransactionSynchronization.STATUS_ROLLED_BACK);
+        
+        assertThat(stats.getTotalTickets()).isZero();
+    }
+    
+    @Test
+    void reconcileWaitsForACommitInProgressInsteadOfCountingItTwice() throws Exception {
+        TransactionSynchronizationManager.initSynchronization();
+        stats.onTicketChanged(purchase());
+        TransactionSynchronizationUtils.triggerBeforeCommit(false);
+        // The commit is now visible to queries, but its increment has not been applied yet
+        when(ticketRepository.count()).thenReturn(1L);
+        
+        CompletableFuture<Void> reconcile = CompletableFuture.runAsync(stats::reconcile);
+        Thread.sleep(100);
+        assertThat(reconcile).isNotDone();
+        
+        TransactionSynchronizationUtils.invokeAfterCompletion(
+                TransactionSynchronizationManager.getSynchronizations(), TransactionSynchronization.STATUS_COMMITTED);
+        reconcile.get(2, TimeUnit.SECONDS);
+        
+        assertThat(stats.getTotalTickets()).isEqualTo(1);
+    }
+    
+    private static TicketChangedEvent purchase() {
+        return new TicketChangedEvent(1L, 1L, 1L, TicketChangedEvent.ChangeType.PURCHASED, LocalDateTime.now());
+    }
+    
+    private static Event publishedEvent(LocalDateTime startDateTime) {
+        Event event = new Event("Jazz Night", null, "Downtown", startDateTime,
+                startDateTime.plusHours(3), 100, BigDecimal.TEN, null);
+        event.setId(1L);
+        event.setStatus(Event.EventStatus.PUBLISHED);
+        event.setAvailableTickets(10);
+        return event;
+    }
+} 
\ No newline at end of file
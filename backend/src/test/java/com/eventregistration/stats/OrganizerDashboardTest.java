@@ -0,0 +1,92 @@
+package com.eventregistration.stats;
+
+import com.eventregistration.dto.EventSummary;
+import com.eventregistration.model.Event;
+import com.eventregistration.repository.EventRepository;
+import com.eventregistration.repository.TicketRepository;
+import com.eventregistration.service.TicketChangedEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class OrganizerDashboardTest {
+    
+    private static final long ORGANIZER_ID = 7L;
+    
+    private OrganizerDashboard dashboard;
+    
+    private final TicketRepository ticketRepository = mock(TicketRepository.class);
+    
+    @BeforeEach
+    void setUp() {
+        EventRepository eventRepository = mock(EventRepository.class);
+        when(eventRepository.findSummariesAfter(anyLong(), any())).thenReturn(List.of(summary()));
+        dashboard = new OrganizerDashboard();
+        ReflectionTestUtils.setField(dashboard, "eventRepository", eventRepository);
+        ReflectionTestUtils.setField(dashboard, "ticketRepository", ticketRepository);
+        ReflectionTestUtils.setField(dashboard, "salesTimeSeries", new TicketSalesTimeSeries());
+    }
+    
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+    
+    @Test
+    void bootstrapWaitsForACheckInBeingCommittedInsteadOfCountingItTwice() throws Exception {
+        TransactionSynchronizationManager.initSynchronization();
+        dashboard.onTicketChanged(new TicketChangedEvent(1L, 1L, 2L, TicketChangedEvent.ChangeType.VALIDATED,
+                LocalDateTime.now()));
+        TransactionSynchronizationUtils.triggerBeforeCommit(false);
+        // The check-in is now visible to the count, but its increment has not been applied yet
+        when(ticketRepository.countValidatedTicketsGroupedByEvent())
+                .thenReturn(List.<Object[]>of(new Object[] {1L, 1L}));
+        
+        CompletableFuture<Void> bootstrap = CompletableFuture.runAsync(dashboard::bootstrap);
+        Thread.sleep(100);
+        assertThat(bootstrap).isNotDone();
+        
+        TransactionSynchronizationUtils.invokeAfterCompletion(
+                TransactionSynchronizationManager.getSynchronizations(), TransactionSynchronization.STATUS_COMMITTED);
+        bootstrap.get(2, TimeUnit.SECONDS);
+        
+        assertThat(dashboard.snapshot(ORGANIZER_ID, 1L).validated()).isEqualTo(1);
+    }
+    
+    @Test
+    void bootstrapCountReplacesCheckInsCountedBeforeIt() {
+        dashboard.bootstrap();
+        dashboard.onTicketChanged(new TicketChangedEvent(1L, 1L, 2L, TicketChangedEvent.ChangeType.VALIDATED,
+                LocalDateTime.now()));
+        when(ticketRepository.countValidatedTicketsGroupedByEvent())
+                .thenReturn(List.<Object[]>of(new Object[] {1L, 3L}));
+        
+        dashboard.bootstrap();
+        
+        assertThat(dashboard.snapshot(ORGANIZER_ID, 1L).validated()).isEqualTo(3);
+    }
+    
+    private static EventSummary summary() {
+        return new EventSummary(1L, "Jazz Night", null, "Downtown", LocalDateTime.now().plusDays(1),
+                LocalDateTime.now().plusDays(1).plusHours(3), BigDecimal.TEN, 100, 90,
+                Event.EventStatus.PUBLISHED, "music", null, null, null, ORGANIZER_ID);
+    }
+} 
\ No newline at end of file
@@ -0,0 +1,79 @@
+package com.eventregistration.stats;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class QueryCountFilterTest {
+    
+    private QueryCountFilter filter;
+    
+    private final MockHttpServletRequest request = new MockHttpServletRequest("GET", "/tickets/my-tickets");
+    
+    private final MockHttpServletResponse response = new MockHttpServletResponse();
+    
+    @BeforeEach
+    void setUp() {
+        filter = new QueryCountFilter();
+        ReflectionTestUtils.setField(filter, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(filter, "maxStatements", 3);
+        ReflectionTestUtils.setField(filter, "nPlusOneThreshold", 10);
+        ReflectionTestUtils.setField(filter, "enforce", true);
+    }
+    
+    @Test
+    void overBudgetRequestIsReplacedWithAnErrorEvenAfterAFlush() throws Exception {
+        filter.doFilter(request, response, handler(4));
+        
+        assertThat(response.getStatus()).isEqualTo(500);
+        assertThat(response.getErrorMessage()).contains("SQL budget exceeded");
+        assertThat(response.getContentAsString()).isEmpty();
+    }
+    
+    @Test
+    void requestWithinBudgetIsWrittenThrough() throws Exception {
+        filter.doFilter(request, response, handler(3));
+        
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getContentAsString()).isEqualTo("{\"tickets\":[]}");
+    }
+    
+    @Test
+    void repeatedStatementFailsAsNPlusOne() throws Exception {
+        ReflectionTestUtils.setField(filter, "maxStatements", 100);
+        
+        filter.doFilter(request, response, handler(10));
+        
+        assertThat(response.getStatus()).isEqualTo(500);
+        assertThat(response.getErrorMessage()).contains("Possible N+1");
+    }
+    
+    @Test
+    void withoutEnforcementViolationsAreOnlyRecorded() throws Exception {
+        ReflectionTestUtils.setField(filter, "enforce", false);
+        
+        filter.doFilter(request, response, handler(4));
+        
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getContentAsString()).isEqualTo("{\"tickets\":[]}");
+    }
+    
+    // Runs the same statement the given number of times, then writes and flushes a body
+    private static FilterChain handler(int statements) {
+        return (req, res) -> {
+            for (int i = 0; i < statements; i++) {
+                RequestQueryStats.current().recordExecution("select * from tickets where id = ?", 1000);
+            }
+            res.setContentType("application/json");
+            res.getWriter().write("{\"tickets\":[]}");
+            res.flushBuffer();
+            res.getWriter().flush();
+        };
+    }
+} 
\ No newline at end of file
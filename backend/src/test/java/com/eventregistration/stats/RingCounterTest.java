@@ -0,0 +1,64 @@
+package com.eventregistration.stats;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RingCounterTest {
+    
+    @Test
+    void sumCoversTheInclusiveWindow() {
+        RingCounter counter = new RingCounter(10);
+        counter.add(100, 1);
+        counter.add(101, 2);
+        counter.add(101, 3);
+        counter.add(103, 4);
+        
+        assertThat(counter.sum(100, 103)).isEqualTo(10);
+        assertThat(counter.sum(101, 101)).isEqualTo(5);
+        assertThat(counter.sum(102, 102)).isZero();
+        assertThat(counter.sum(104, 110)).isZero();
+    }
+    
+    @Test
+    void bucketsPastTheCapacityReplaceTheirSlot() {
+        RingCounter counter = new RingCounter(4);
+        counter.add(10, 5);
+        counter.add(14, 7);
+        
+        assertThat(counter.sum(10, 10)).isZero();
+        assertThat(counter.sum(11, 14)).isEqualTo(7);
+    }
+    
+    @Test
+    void windowWiderThanTheRingOnlyCountsRetainedBuckets() {
+        RingCounter counter = new RingCounter(4);
+        for (long bucket = 0; bucket < 12; bucket++) {
+            counter.add(bucket, 1);
+        }
+        
+        assertThat(counter.sum(0, 11)).isEqualTo(4);
+        // Nothing has been added to buckets 12..15, and the older slots must not leak in
+        assertThat(counter.sum(0, 15)).isZero();
+    }
+    
+    @Test
+    void lateAddsOlderThanTheRingAreDropped() {
+        RingCounter counter = new RingCounter(4);
+        counter.add(20, 1);
+        counter.add(16, 100);
+        
+        assertThat(counter.sum(16, 20)).isEqualTo(1);
+    }
+    
+    @Test
+    void seriesIsOldestFirstWithZerosForGaps() {
+        RingCounter counter = new RingCounter(8);
+        counter.add(5, 2);
+        counter.add(7, 3);
+        counter.add(8, 1);
+        
+        assertThat(counter.series(8, 5)).containsExactly(0, 2, 0, 3, 1);
+        assertThat(counter.series(1, 3)).containsExactly(0, 0, 0);
+    }
+} 
\ No newline at end of file
@@ -0,0 +1,40 @@
+package com.eventregistration.stats;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TicketSalesTimeSeriesTest {
+    
+    private final TicketSalesTimeSeries timeSeries = new TicketSalesTimeSeries();
+    
+    @Test
+    void sweepEvictsEventsWhoseActivityHasAgedOut() {
+        LocalDateTime now = LocalDateTime.now();
+        record(1L, now.minusDays(120));
+        record(2L, now.minusDays(120));
+        record(2L, now.minusDays(30));
+        record(3L, now.minusMinutes(5));
+        
+        timeSeries.evictExpired();
+        
+        assertThat(byEvent().keySet()).containsExactlyInAnyOrder(2L, 3L);
+        assertThat(timeSeries.count(2L, TicketSalesTimeSeries.Metric.PURCHASED, now.minusDays(60))).isEqualTo(1);
+        assertThat(timeSeries.count(3L, TicketSalesTimeSeries.Metric.PURCHASED, now.minusHours(1))).isEqualTo(1);
+        // The global series keeps everything within its own retention
+        assertThat(timeSeries.count(null, TicketSalesTimeSeries.Metric.PURCHASED, now.minusDays(200))).isEqualTo(4);
+    }
+    
+    private void record(Long eventId, LocalDateTime at) {
+        ReflectionTestUtils.invokeMethod(timeSeries, "record", eventId, TicketSalesTimeSeries.Metric.PURCHASED, at);
+    }
+    
+    @SuppressWarnings("unchecked")
+    private Map<Long, ?> byEvent() {
+        return (Map<Long, ?>) ReflectionTestUtils.getField(timeSeries, "byEvent");
+    }
+} 
\ No newline at end of file
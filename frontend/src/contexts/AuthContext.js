@@ -1,4 +1,4 @@
-import React, { createContext, useContext, useState, useEffect } from 'react';
+import React, { createContext, useContext, useState, useEffect, useRef } from 'react';
 import axios from 'axios';
 
 const AuthContext = createContext();
@@ -16,6 +16,8 @@ export const AuthProvider = ({ children }) => {
   const [isAuthenticated, setIsAuthenticated] = useState(false);
   const [loading, setLoading] = useState(true);
   const [token, setToken] = useState(localStorage.getItem('token'));
+  // Refresh in progress; concurrent 401s wait on it instead of replaying the refresh token
+  const refreshPromise = useRef(null);
 
   // Configure axios defaults
   useEffect(() => {
@@ -26,6 +28,32 @@ export const AuthProvider = ({ children }) => {
     }
   }, [token]);
 
+  // Exchange the refresh token for a new access token when a request gets a 401
+  useEffect(() => {
+    const interceptor = axios.interceptors.response.use(
+      response => response,
+      async error => {
+        const original = error.config;
+        if (error.response?.status === 401 && original && !original._retry &&
+            !original.url.includes('/api/auth/')) {
+          original._retry = true;
+          // A refresh that finished after this request was sent already has a newer token
+          const current = localStorage.getItem('token');
+          const sentWith = original.headers?.['Authorization'];
+          const newToken = current && sentWith !== `Bearer ${current}`
+            ? current
+            : await refreshAccessToken();
+          if (newToken) {
+            original.headers['Authorization'] = `Bearer ${newToken}`;
+            return axios(original);
+          }
+        }
+        return Promise.reject(error);
+      }
+    );
+    return () => axios.interceptors.response.eject(interceptor);
+  }, []);
+
   // Check token validity on app start
   useEffect(() => {
     const validateToken = async () => {
@@ -35,6 +63,11 @@ export const AuthProvider = ({ children }) => {
             headers: { Authorization: `Bearer ${token}` }
           });
           
+          if (!response.data.valid && await refreshAccessToken()) {
+            // The new token re-runs this effect
+            return;
+          }
+
           if (response.data.valid) {
             setUser({
               id: response.data.userId,
@@ -63,12 +96,13 @@ export const AuthProvider = ({ children }) => {
         password
       });
 
-      const { token: newToken, ...userData } = response.data;
+      const { token: newToken, refreshToken, expiresIn, ...userData } = response.data;
       
       setToken(newToken);
       setUser(userData);
       setIsAuthenticated(true);
       localStorage.setItem('token', newToken);
+      localStorage.setItem('refreshToken', refreshToken);
       
       return { success: true };
     } catch (error) {
@@ -93,11 +127,46 @@ export const AuthProvider = ({ children }) => {
     }
   };
 
+  // Each refresh token may be presented once; a second use revokes the whole session
+  const refreshAccessToken = () => {
+    if (!refreshPromise.current) {
+      refreshPromise.current = exchangeRefreshToken().finally(() => {
+        refreshPromise.current = null;
+      });
+    }
+    return refreshPromise.current;
+  };
+
+  const exchangeRefreshToken = async () => {
+    const refreshToken = localStorage.getItem('refreshToken');
+    if (!refreshToken) {
+      return null;
+    }
+
+    try {
+      const response = await axios.post('/api/auth/refresh', { refreshToken });
+      localStorage.setItem('token', response.data.token);
+      localStorage.setItem('refreshToken', response.data.refreshToken);
+      axios.defaults.headers.common['Authorization'] = `Bearer ${response.data.token}`;
+      setToken(response.data.token);
+      return response.data.token;
+    } catch (error) {
+      localStorage.removeItem('refreshToken');
+      return null;
+    }
+  };
+
   const logout = () => {
+    const refreshToken = localStorage.getItem('refreshToken');
+    if (token || refreshToken) {
+      // The refresh token lets the server end the session even after the access token expired
+      axios.post('/api/auth/logout', { refreshToken }).catch(() => {});
+    }
     setUser(null);
     setIsAuthenticated(false);
     setToken(null);
     localStorage.removeItem('token');
+    localStorage.removeItem('refreshToken');
     delete axios.defaults.headers.common['Authorization'];
   };
 
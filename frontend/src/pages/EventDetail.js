@@ -54,6 +54,16 @@ const EventDetail = () => {
     fetchEventDetails();
   }, [eventId]);
 
+  // Live ticket counts pushed by the server instead of polling
+  useEffect(() => {
+    const source = new EventSource(`/api/events/public/${eventId}/availability/stream`);
+    source.addEventListener('availability', (message) => {
+      const { availableTickets } = JSON.parse(message.data);
+      setEvent(prev => (prev ? { ...prev, availableTickets } : prev));
+    });
+    return () => source.close();
+  }, [eventId]);
+
   const fetchEventDetails = async () => {
     try {
       setLoading(true);
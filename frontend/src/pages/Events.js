@@ -43,7 +43,7 @@ const Events = () => {
     try {
       setLoading(true);
       const response = await axios.get('/api/events/public/available');
-      setEvents(response.data);
+      setEvents(response.data.items);
     } catch (err) {
       setError('Failed to fetch events');
       console.error('Error fetching events:', err);
@@ -61,7 +61,7 @@ const Events = () => {
     try {
       setLoading(true);
       const response = await axios.get(`/api/events/public/search?keyword=${encodeURIComponent(searchTerm)}`);
-      setEvents(response.data);
+      setEvents(response.data.items);
     } catch (err) {
       setError('Failed to search events');
       console.error('Error searching events:', err);
@@ -82,7 +82,7 @@ const Events = () => {
     try {
       setLoading(true);
       const response = await axios.get(`/api/events/public/category/${selectedCategory}`);
-      setEvents(response.data);
+      setEvents(response.data.items);
     } catch (err) {
       setError('Failed to filter events by category');
       console.error('Error filtering events:', err);
@@ -33,8 +33,8 @@ const Home = () => {
   useEffect(() => {
     const fetchFeaturedEvents = async () => {
       try {
-        const response = await axios.get('/api/events/public/upcoming');
-        setFeaturedEvents(response.data.slice(0, 3)); // Show only 3 events
+        const response = await axios.get('/api/events/public/upcoming?limit=3');
+        setFeaturedEvents(response.data.items);
       } catch (error) {
         console.error('Failed to fetch featured events:', error);
       } finally {
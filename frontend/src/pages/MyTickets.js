@@ -57,7 +57,7 @@ const MyTickets = () => {
           'Authorization': `Bearer ${localStorage.getItem('token')}`
         }
       });
-      setTickets(response.data);
+      setTickets(response.data.content);
     } catch (err) {
       setError('Failed to load tickets');
       console.error('Error fetching tickets:', err);
@@ -75,10 +75,10 @@ const MyTickets = () => {
     // Generate PDF or image for download
     const ticketData = {
       id: ticket.id,
-      eventTitle: ticket.event.title,
-      date: format(new Date(ticket.event.date), 'EEEE, MMMM do, yyyy'),
-      time: format(new Date(ticket.event.date), 'h:mm a'),
-      venue: ticket.event.venue,
+      eventTitle: ticket.eventTitle,
+      date: format(new Date(ticket.eventStartDateTime), 'EEEE, MMMM do, yyyy'),
+      time: format(new Date(ticket.eventStartDateTime), 'h:mm a'),
+      venue: ticket.eventLocation,
       quantity: ticket.quantity,
       totalAmount: ticket.totalAmount
     };
@@ -169,7 +169,7 @@ Total: $${ticketData.totalAmount}
                 <CardContent sx={{ flexGrow: 1 }}>
                   <Box display="flex" justifyContent="space-between" alignItems="flex-start" mb={2}>
                     <Typography variant="h6" component="h2" noWrap>
-                      {ticket.event.title}
+                      {ticket.eventTitle}
                     </Typography>
                     <Chip
                       label={ticket.status}
@@ -182,21 +182,21 @@ Total: $${ticketData.totalAmount}
                     <Box display="flex" alignItems="center" mb={1}>
                       <CalendarToday sx={{ mr: 1, fontSize: 16, color: 'text.secondary' }} />
                       <Typography variant="body2" color="text.secondary">
-                        {format(new Date(ticket.event.date), 'MMM do, yyyy')}
+                        {format(new Date(ticket.eventStartDateTime), 'MMM do, yyyy')}
                       </Typography>
                     </Box>
                     
                     <Box display="flex" alignItems="center" mb={1}>
                       <AccessTime sx={{ mr: 1, fontSize: 16, color: 'text.secondary' }} />
                       <Typography variant="body2" color="text.secondary">
-                        {format(new Date(ticket.event.date), 'h:mm a')}
+                        {format(new Date(ticket.eventStartDateTime), 'h:mm a')}
                       </Typography>
                     </Box>
                     
                     <Box display="flex" alignItems="center" mb={1}>
                       <LocationOn sx={{ mr: 1, fontSize: 16, color: 'text.secondary' }} />
                       <Typography variant="body2" color="text.secondary" noWrap>
-                        {ticket.event.venue}
+                        {ticket.eventLocation}
                       </Typography>
                     </Box>
                   </Box>
@@ -267,7 +267,7 @@ Total: $${ticketData.totalAmount}
         fullWidth
       >
         <DialogTitle>
-          QR Code - {selectedTicket?.event?.title}
+          QR Code - {selectedTicket?.eventTitle}
         </DialogTitle>
         <DialogContent>
           {selectedTicket && (
@@ -279,10 +279,10 @@ Total: $${ticketData.totalAmount}
                 Ticket ID: {selectedTicket.id}
               </Typography>
               <Typography variant="body2" color="text.secondary">
-                Event: {selectedTicket.event.title}
+                Event: {selectedTicket.eventTitle}
               </Typography>
               <Typography variant="body2" color="text.secondary">
-                Date: {format(new Date(selectedTicket.event.date), 'EEEE, MMMM do, yyyy')}
+                Date: {format(new Date(selectedTicket.eventStartDateTime), 'EEEE, MMMM do, yyyy')}
               </Typography>
             </Box>
           )}